@@ -0,0 +1,105 @@
+package com.metropolitan.backend.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Admin bulk import on a running instance (-p baseUrl=..., an admin login via -p email/-p password).
+// Each invocation posts one import of ROWS rows, so the score is rows per second. Run it against a
+// build with IDENTITY ids and no hibernate.jdbc.batch_size to see the one-statement-per-row baseline.
+// Every invocation really inserts its rows; point it at a scratch database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    private static final int ROWS = 2000;
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param("http://127.0.0.1:8080")
+    private String baseUrl;
+
+    @Param("admin@gmail.com")
+    private String email;
+
+    @Param("password")
+    private String password;
+
+    @Param({"chatbot", "case-studies"})
+    private String endpoint;
+
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher token = TOKEN.matcher(login.body());
+        if (!token.find()) {
+            throw new IllegalStateException("Login failed: " + login.statusCode() + " " + login.body());
+        }
+
+        request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/" + endpoint + "/import"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token.group(1))
+                .POST(HttpRequest.BodyPublishers.ofString(payload()))
+                .build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int importRows() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Import returned " + response.statusCode() + " " + response.body());
+        }
+        return response.body().length();
+    }
+
+    private String payload() {
+        StringJoiner rows = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < ROWS; i++) {
+            if (endpoint.equals("chatbot")) {
+                rows.add("{\"question\":\"Benchmark question " + i + " about the service?\","
+                        + "\"answer\":\"Benchmark answer " + i + ", long enough to look like a real one.\","
+                        + "\"category\":\"Benchmark\",\"keywords\":\"benchmark,question" + i + "\"}");
+            } else {
+                rows.add("{\"title\":\"Benchmark case study " + i + "\","
+                        + "\"description\":\"Installed and commissioned as part of benchmark run " + i + ".\","
+                        + "\"image\":\"https://example.com/case-study.jpg\",\"division\":\"Solar\","
+                        + "\"client\":\"Benchmark Client\",\"location\":\"Colombo\",\"completionDate\":\"2025\"}");
+            }
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.metropolitan.backend.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// Load test of the hot public endpoints on a running instance (-p baseUrl=...), 16 keep-alive clients
+// by default (-t to change). Run it against the app started with snapshots.enabled=true and then false
+// to compare snapshot serving with the live path; both answer from memory once warm.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class PublicContentLoadBenchmark {
+
+    @Param("http://127.0.0.1:8080")
+    private String baseUrl;
+
+    @Param({
+            "/api/case-studies?division=Solar",
+            "/api/news",
+            "/api/testimonials",
+            "/api/job-positions?page=1&limit=10"
+    })
+    private String path;
+
+    @Param({"gzip", "identity"})
+    private String acceptEncoding;
+
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        System.out.printf("%n[%s] %d bytes, Content-Encoding: %s%n", path, response.body().length,
+                response.headers().firstValue("Content-Encoding").orElse("none"));
+    }
+
+    @Benchmark
+    public int get() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+}
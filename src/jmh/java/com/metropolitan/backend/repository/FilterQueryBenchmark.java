@@ -0,0 +1,253 @@
+package com.metropolitan.backend.repository;
+
+import com.metropolitan.backend.dto.CaseStudySummary;
+import com.metropolitan.backend.model.CaseStudy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Filtered case study list against a seeded PostgreSQL, both sides going through Hibernate: the old
+// catch-all SpEL query shape, where every filter is "(? = true or col = ?)", against the admin list
+// as it runs today, CaseStudyRepository.withFilters through WindowedPageRepositoryImpl.findPage.
+// Both read a 20-row summary page plus count(*) over(). Statements are server-prepared from the
+// first execution so the plan cache is in play; run with -p planCacheMode=force_generic_plan to see
+// what the generic plan does to each shape. Setup prints the SQL Hibernate emitted for each, with
+// its plan.
+//
+// Needs a reachable database (-p jdbcUrl=...). Rows are seeded into a bench_filters schema that is
+// dropped again afterwards.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterQueryBenchmark {
+
+    private static final String SCHEMA = "bench_filters";
+    private static final String[] DIVISIONS = {
+            "Central AC", "Elevators and Travelators", "Fire Detection & Protection", "Generator", "Solar", "ELV"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int PAGE_SIZE = 20;
+    private static final Pageable PAGE = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+    private static final String LEGACY_HQL = "select c.id, c.title, c.image, c.division, c.client, c.location, "
+            + "c.completionDate, c.createdAt, count(c) over() from CaseStudy c where "
+            + "(:noDivision = true or c.division = :division) and "
+            + "(:noFromDate = true or c.createdAt >= :fromDate) and "
+            + "(:noToDate = true or c.createdAt <= :toDate) "
+            + "order by c.createdAt desc";
+
+    @Param("jdbc:postgresql://127.0.0.1:5432/postgres")
+    private String jdbcUrl;
+
+    @Param("postgres")
+    private String user;
+
+    @Param("postgres")
+    private String password;
+
+    @Param("200000")
+    private int rows;
+
+    @Param({"division", "dates", "both", "none"})
+    private String filters;
+
+    @Param({"auto", "force_generic_plan"})
+    private String planCacheMode;
+
+    private Connection connection;
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private WindowedPageRepositoryImpl<CaseStudy, Long> repository;
+    private final List<String> statements = new ArrayList<>();
+
+    private String division;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+            statement.execute("create schema " + SCHEMA);
+            statement.execute("create table " + SCHEMA + ".case_studies (id bigint primary key, "
+                    + "title text not null, description text not null, image text not null, "
+                    + "division varchar(50) not null, client text, location text, completion_date text, "
+                    + "created_at timestamp)");
+            statement.execute("insert into " + SCHEMA + ".case_studies "
+                    + "(id, title, description, image, division, client, location, completion_date, created_at) "
+                    + "select g, 'Case study ' || g, repeat('Installed and commissioned. ', 40), "
+                    + "'/api/images/case-study-' || g, (array['" + String.join("','", DIVISIONS) + "'])[1 + g % 6], "
+                    + "'Client ' || g % 500, 'Colombo', '2024', "
+                    + "timestamp '" + EPOCH + "' + (random() * 730) * interval '1 day' "
+                    + "from generate_series(1, " + rows + ") g");
+            statement.execute("create index on " + SCHEMA + ".case_studies (division, created_at)");
+            statement.execute("create index on " + SCHEMA + ".case_studies (created_at)");
+            statement.execute("analyze " + SCHEMA + ".case_studies");
+            statement.execute("set plan_cache_mode = " + planCacheMode);
+        }
+
+        // The entity mapping the application uses, pointed at the seeded schema. Its listener needs
+        // the Spring context and only reacts to writes, so JPA callbacks stay off, and nothing is
+        // inserted, so the id sequence is not checked.
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(CaseStudy.class)
+                .setProperty(AvailableSettings.URL, jdbcUrl)
+                .setProperty(AvailableSettings.USER, user)
+                .setProperty(AvailableSettings.PASS, password)
+                .setProperty(AvailableSettings.POOL_SIZE, "1")
+                .setProperty(AvailableSettings.DEFAULT_SCHEMA, SCHEMA)
+                .setProperty(AvailableSettings.JPA_CALLBACKS_ENABLED, "false")
+                .setProperty(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, "none")
+                .setProperty("hibernate.connection.prepareThreshold", "1")
+                .setProperty("hibernate.connection.options", "-c plan_cache_mode=" + planCacheMode)
+                .setStatementInspector(sql -> {
+                    statements.add(sql);
+                    return sql;
+                })
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        repository = new WindowedPageRepositoryImpl<>(
+                JpaEntityInformationSupport.getEntityInformation(CaseStudy.class, entityManager), entityManager);
+
+        division = filters.equals("division") || filters.equals("both") ? "Solar" : null;
+        if (filters.equals("dates") || filters.equals("both")) {
+            fromDate = EPOCH.plusDays(400);
+            toDate = fromDate.plusDays(7);
+        }
+
+        // Filter bind values in the order each statement takes them; the page bounds follow
+        List<String> legacyArguments = List.of(
+                String.valueOf(division == null), literal(division),
+                String.valueOf(fromDate == null), literal(fromDate),
+                String.valueOf(toDate == null), literal(toDate));
+        List<String> specificationArguments = new ArrayList<>();
+        if (division != null) {
+            specificationArguments.add(literal(division));
+        }
+        if (fromDate != null) {
+            specificationArguments.add(literal(fromDate));
+            specificationArguments.add(literal(toDate));
+        }
+
+        System.out.printf("%n[legacy, %s]%n%s[specification, %s]%n%s",
+                planCacheMode, explain("legacy_filters", emitted(this::legacyCatchAll), legacyArguments),
+                planCacheMode, explain("specification_filters", emitted(this::specificationBuilder), specificationArguments));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        entityManager.close();
+        sessionFactory.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long legacyCatchAll() {
+        List<Tuple> page = entityManager.createQuery(LEGACY_HQL, Tuple.class)
+                .setParameter("noDivision", division == null)
+                .setParameter("division", division)
+                .setParameter("noFromDate", fromDate == null)
+                .setParameter("fromDate", fromDate)
+                .setParameter("noToDate", toDate == null)
+                .setParameter("toDate", toDate)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        entityManager.clear();
+        return page.isEmpty() ? 0 : page.get(0).get(8, Long.class);
+    }
+
+    @Benchmark
+    public long specificationBuilder() {
+        long total = repository.findPage(CaseStudyRepository.withFilters(division, fromDate, toDate), PAGE, CaseStudySummary.class)
+                .getTotalElements();
+        entityManager.clear();
+        return total;
+    }
+
+    // The SQL Hibernate sent for one run of the query
+    private String emitted(Runnable query) {
+        statements.clear();
+        query.run();
+        if (statements.size() != 1) {
+            throw new IllegalStateException("Expected one statement, got " + statements);
+        }
+        return statements.get(0);
+    }
+
+    // EXPLAIN ANALYZE of the statement as a named prepared statement, after enough executions for
+    // the plan cache to settle on a custom or generic plan
+    private String explain(String name, String sql, List<String> arguments) throws SQLException {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 1;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(parameter++);
+            } else {
+                numbered.append(c);
+            }
+        }
+        // Hibernate binds the limit, and the offset first when the page has one
+        List<String> bound = new ArrayList<>(arguments);
+        switch (parameter - 1 - arguments.size()) {
+            case 1 -> bound.add(String.valueOf(PAGE_SIZE));
+            case 2 -> bound.addAll(List.of("0", String.valueOf(PAGE_SIZE)));
+            default -> throw new IllegalStateException("Unexpected parameters in " + sql);
+        }
+        String execute = "execute " + name + "(" + String.join(", ", bound) + ")";
+
+        StringBuilder plan = new StringBuilder("  ").append(sql.replaceAll("\\s+", " ")).append("\n\n");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set search_path = " + SCHEMA);
+            statement.execute("prepare " + name + " as " + numbered);
+            for (int i = 0; i < 10; i++) {
+                statement.execute(execute);
+            }
+            try (ResultSet resultSet = statement.executeQuery("explain analyze " + execute)) {
+                while (resultSet.next()) {
+                    plan.append("  ").append(resultSet.getString(1)).append('\n');
+                }
+            }
+            statement.execute("deallocate " + name);
+        }
+        return plan.toString();
+    }
+
+    private static String literal(Object value) {
+        return value != null ? "'" + value + "'" : "null";
+    }
+}
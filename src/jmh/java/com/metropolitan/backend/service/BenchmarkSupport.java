@@ -0,0 +1,166 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.dto.groq.GroqRequest;
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import com.metropolitan.backend.repository.ChatbotKnowledgeBaseRepository;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+// Synthetic knowledge bases and hand-wired services for the benchmarks; no Spring context or database
+final class BenchmarkSupport {
+
+    private static final String[] TOPICS = {
+            "hvac", "central", "air", "conditioning", "chiller", "duct", "elevator", "escalator", "travelator",
+            "fire", "alarm", "sprinkler", "detection", "generator", "diesel", "backup", "solar", "panel",
+            "inverter", "battery", "elv", "cctv", "access", "control", "network", "maintenance", "warranty",
+            "installation", "contract", "service", "price", "quote", "project", "office", "contact", "career"
+    };
+
+    private static final String[] PHRASES = {
+            "what is", "how do i", "do you offer", "can you install", "how much does", "who handles",
+            "where is", "when can", "is there", "tell me about"
+    };
+
+    private BenchmarkSupport() {
+    }
+
+    // Questions mix the domain vocabulary with generated words so larger tables keep a realistic
+    // spread of rare and common terms
+    static List<ChatbotKnowledgeBase> knowledgeBase(int size, long seed) {
+        Random random = new Random(seed);
+        String[] vocabulary = vocabulary(Math.max(200, size / 2), random);
+        List<ChatbotKnowledgeBase> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ChatbotKnowledgeBase entry = new ChatbotKnowledgeBase();
+            entry.setId((long) i + 1);
+            entry.setQuestion(PHRASES[random.nextInt(PHRASES.length)] + " " + words(random, vocabulary, 3 + random.nextInt(5)) + "?");
+            entry.setAnswer("Metropolitan " + words(random, vocabulary, 20 + random.nextInt(40)) + ".");
+            entry.setCategory(TOPICS[random.nextInt(TOPICS.length)]);
+            if (random.nextInt(4) != 0) {
+                entry.setKeywords(words(random, vocabulary, 2 + random.nextInt(4)).replace(' ', ','));
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // A third each: verbatim questions, paraphrases sharing some words, and off-topic messages
+    static String[] messages(List<ChatbotKnowledgeBase> entries, int count, long seed) {
+        Random random = new Random(seed);
+        String[] vocabulary = vocabulary(200, random);
+        String[] messages = new String[count];
+        for (int i = 0; i < count; i++) {
+            ChatbotKnowledgeBase entry = entries.get(random.nextInt(entries.size()));
+            messages[i] = switch (i % 3) {
+                case 0 -> entry.getQuestion();
+                case 1 -> "Hi, " + PHRASES[random.nextInt(PHRASES.length)] + " "
+                        + entry.getQuestion().substring(entry.getQuestion().length() / 2);
+                default -> "Hello " + words(random, vocabulary, 4 + random.nextInt(6));
+            };
+        }
+        return messages;
+    }
+
+    // Keyword-only service over a fixed knowledge base: the Groq key is blank and the repository
+    // only answers findAll
+    static ChatbotService keywordOnlyService(List<ChatbotKnowledgeBase> entries) {
+        return service(entries, new GroqClient(HttpClient.newHttpClient(), new ObjectMapper()));
+    }
+
+    // The same, but Groq is configured and answers at once: the request body is serialized as it
+    // would be for the wire and a fixed completion comes back, so only local work is measured.
+    // The answer cache is off, so every message takes the Groq path.
+    static ChatbotService stubbedGroqService(List<ChatbotKnowledgeBase> entries) {
+        return service(entries, new StubGroqClient(new ObjectMapper()));
+    }
+
+    private static ChatbotService service(List<ChatbotKnowledgeBase> entries, GroqClient groqClient) {
+        ChatbotKnowledgeBaseRepository repository = (ChatbotKnowledgeBaseRepository) Proxy.newProxyInstance(
+                ChatbotKnowledgeBaseRepository.class.getClassLoader(),
+                new Class<?>[]{ChatbotKnowledgeBaseRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> entries;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        GroqCircuitBreaker circuitBreaker = new GroqCircuitBreaker();
+        setField(circuitBreaker, "failureThreshold", 5);
+        setField(circuitBreaker, "slowCallMs", 10000L);
+        setField(circuitBreaker, "openMs", 30000L);
+        return new ChatbotService(repository, groqClient, new ChatAnswerCache(0, 60, false, 0.8), circuitBreaker, null);
+    }
+
+    private static final class StubGroqClient extends GroqClient {
+
+        private final ObjectMapper objectMapper;
+
+        StubGroqClient(ObjectMapper objectMapper) {
+            super(HttpClient.newHttpClient(), objectMapper);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<String> completeAsync(GroqRequest request) {
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(request);
+                return CompletableFuture.completedFuture("Metropolitan can help with that (" + body.length + " bytes sent).");
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Stands in for the @Value injection Spring would do
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+
+    private static String[] vocabulary(int generated, Random random) {
+        String[] vocabulary = new String[TOPICS.length + generated];
+        System.arraycopy(TOPICS, 0, vocabulary, 0, TOPICS.length);
+        for (int i = TOPICS.length; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            // Skewed towards the front of the vocabulary, where the domain terms are
+            int bound = random.nextBoolean() ? Math.min(vocabulary.length, 100) : vocabulary.length;
+            words.append(vocabulary[random.nextInt(bound)]);
+        }
+        return words.toString();
+    }
+}
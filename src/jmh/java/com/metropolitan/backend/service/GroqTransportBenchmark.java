@@ -0,0 +1,147 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.config.AppConfig;
+import com.metropolitan.backend.dto.groq.GroqMessage;
+import com.metropolitan.backend.dto.groq.GroqRequest;
+import com.metropolitan.backend.dto.groq.GroqResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Groq transport against a local stub: the pooled JDK HttpClient behind GroqClient versus the
+// default RestTemplate (SimpleClientHttpRequestFactory) the service used before. Use SampleTime
+// for p50/p99 and -t to add concurrent callers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// nodelay: without it the stub's separate header and body writes stall on delayed ACKs
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class GroqTransportBenchmark {
+
+    // Simulated server think time per call
+    @Param({"0", "20"})
+    private int serverDelayMs;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+    private byte[] completion;
+
+    private GroqClient groqClient;
+    private RestTemplate restTemplate;
+    private GroqRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        completion = objectMapper.writeValueAsBytes(objectMapper.readTree(
+                "{\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\""
+                        + "Metropolitan designs, installs and maintains central air conditioning. ".repeat(8)
+                        + "\"},\"finish_reason\":\"stop\"}]}"));
+
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.createContext("/chat/completions", this::complete);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        AppConfig appConfig = new AppConfig();
+        BenchmarkSupport.setField(appConfig, "groqConnectTimeoutMs", 5000L);
+        BenchmarkSupport.setField(appConfig, "groqPoolSize", 20);
+        BenchmarkSupport.setField(appConfig, "groqKeepAliveSeconds", 300);
+        groqClient = new GroqClient(appConfig.groqHttpClient(), objectMapper);
+        BenchmarkSupport.setField(groqClient, "groqApiKey", "benchmark");
+        BenchmarkSupport.setField(groqClient, "groqBaseUrl", baseUrl);
+        BenchmarkSupport.setField(groqClient, "requestTimeoutMs", 30000L);
+
+        restTemplate = new RestTemplate();
+
+        String systemPrompt = BenchmarkSupport.knowledgeBase(20, 42).stream()
+                .map(entry -> "Q: " + entry.getQuestion() + "\nA: " + entry.getAnswer() + "\n")
+                .reduce("", String::concat);
+        request = new GroqRequest("openai/gpt-oss-120b",
+                List.of(GroqMessage.system(systemPrompt), GroqMessage.user("Do you install solar panels?")),
+                512, 0.3, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String pooledHttpClient() {
+        return groqClient.completeAsync(request).join();
+    }
+
+    @Benchmark
+    public String restTemplate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth("benchmark");
+        GroqResponse response = restTemplate.exchange(baseUrl + "/chat/completions", HttpMethod.POST,
+                new HttpEntity<>(request, headers), GroqResponse.class).getBody();
+        return response != null ? response.getContent() : null;
+    }
+
+    private void complete(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        if (serverDelayMs > 0) {
+            try {
+                Thread.sleep(serverDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] payload = completion;
+        String acceptEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(completion);
+            }
+            payload = compressed.toByteArray();
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(200, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.metropolitan.backend.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Token checks JwtAuthenticationFilter does on every admin request: the old path (signing key
+// and parser rebuilt per call, token parsed three times) against one parse with the cached parser
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "0000120012002120013303232303232303232303232320323230323230323223232032";
+    private static final String EMAIL = "admin@gmail.com";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        BenchmarkSupport.setField(jwtService, "secret", SECRET);
+        BenchmarkSupport.setField(jwtService, "expiration", 21600000L);
+        jwtService.init();
+        token = jwtService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public boolean perRequestParsers() {
+        String email = claims(token).getSubject();
+        return claims(token).getSubject().equals(email) && !claims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = jwtService.parseClaims(token);
+        return jwtService.isTokenValid(claims, claims.getSubject());
+    }
+
+    // The removed JwtService.extractAllClaims
+    private static Claims claims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,70 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.ChatResponse;
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Keyword matching per message: the index, the old linear scan, and the full service path.
+// Run with -prof gc for allocation per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class KeywordMatchingBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int entries;
+
+    private List<ChatbotKnowledgeBase> knowledgeBase;
+    private KnowledgeBaseIndex index;
+    private ChatbotService chatbotService;
+    private String[] messages;
+
+    @Setup
+    public void setUp() {
+        knowledgeBase = BenchmarkSupport.knowledgeBase(entries, 42);
+        index = KnowledgeBaseIndex.build(knowledgeBase, 1);
+        chatbotService = BenchmarkSupport.keywordOnlyService(knowledgeBase);
+        messages = BenchmarkSupport.messages(knowledgeBase, 1024, 7);
+        // First call builds the service's own index outside the measurement
+        chatbotService.processMessage(messages[0]);
+    }
+
+    @Benchmark
+    public ChatbotKnowledgeBase indexLookup(MessageCursor cursor) {
+        return index.findBestMatch(cursor.next(messages));
+    }
+
+    @Benchmark
+    public ChatbotKnowledgeBase linearScan(MessageCursor cursor) {
+        return LinearScanMatcher.findBestMatch(cursor.next(messages), knowledgeBase);
+    }
+
+    @Benchmark
+    public ChatResponse processWithKeywordMatching(MessageCursor cursor) {
+        return chatbotService.processMessage(cursor.next(messages));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public KnowledgeBaseIndex buildIndex() {
+        return KnowledgeBaseIndex.build(knowledgeBase, 2);
+    }
+}
@@ -0,0 +1,66 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+
+import java.util.List;
+
+// The keyword matcher as it was before KnowledgeBaseIndex: every entry scored with
+// calculateScore on every message. Kept as the baseline the index is measured against.
+final class LinearScanMatcher {
+
+    private LinearScanMatcher() {
+    }
+
+    static ChatbotKnowledgeBase findBestMatch(String userMessage, List<ChatbotKnowledgeBase> allEntries) {
+        String normalizedMessage = userMessage.toLowerCase().trim();
+        String[] messageWords = normalizedMessage.split("\\s+");
+
+        ChatbotKnowledgeBase bestMatch = null;
+        int bestScore = 0;
+
+        for (ChatbotKnowledgeBase entry : allEntries) {
+            int score = calculateScore(normalizedMessage, messageWords, entry);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMatch = entry;
+            }
+        }
+
+        return bestMatch;
+    }
+
+    private static int calculateScore(String normalizedMessage, String[] messageWords, ChatbotKnowledgeBase entry) {
+        int score = 0;
+        String normalizedQuestion = entry.getQuestion().toLowerCase();
+
+        if (normalizedQuestion.equals(normalizedMessage)) {
+            score += 10;
+        } else if (normalizedMessage.contains(normalizedQuestion) || normalizedQuestion.contains(normalizedMessage)) {
+            score += 5;
+        }
+
+        String[] questionWords = normalizedQuestion.split("\\s+");
+        for (String word : messageWords) {
+            if (word.length() > 2) {
+                for (String questionWord : questionWords) {
+                    if (questionWord.equals(word)) {
+                        score += 2;
+                    } else if (questionWord.contains(word) || word.contains(questionWord)) {
+                        score += 1;
+                    }
+                }
+            }
+        }
+
+        if (entry.getKeywords() != null && !entry.getKeywords().isEmpty()) {
+            String[] keywords = entry.getKeywords().toLowerCase().split("[,\\s]+");
+            for (String keyword : keywords) {
+                if (!keyword.isEmpty() && keyword.length() > 2 && normalizedMessage.contains(keyword)) {
+                    score += 3;
+                }
+            }
+        }
+
+        return score;
+    }
+}
@@ -0,0 +1,15 @@
+package com.metropolitan.backend.service;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Walks the message set per benchmark thread; the set size must be a power of two
+@State(Scope.Thread)
+public class MessageCursor {
+
+    private int next;
+
+    String next(String[] messages) {
+        return messages[next++ & (messages.length - 1)];
+    }
+}
@@ -0,0 +1,68 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.ChatResponse;
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ChatbotService.processMessage end to end as the knowledge base grows, with Groq stubbed out:
+// prompt selection (the cached full table or top-k retrieval), request serialization, breaker and
+// answer cache bookkeeping. The keyword-only path is the same call with no Groq key configured.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProcessMessageBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int entries;
+
+    @Param("8")
+    private int topK;
+
+    @Param("3000")
+    private int maxPromptTokens;
+
+    private ChatbotService groqService;
+    private ChatbotService keywordService;
+    private String[] messages;
+
+    @Setup
+    public void setUp() {
+        List<ChatbotKnowledgeBase> knowledgeBase = BenchmarkSupport.knowledgeBase(entries, 42);
+        groqService = BenchmarkSupport.stubbedGroqService(knowledgeBase);
+        BenchmarkSupport.setField(groqService, "retrievalTopK", topK);
+        BenchmarkSupport.setField(groqService, "maxPromptTokens", maxPromptTokens);
+        keywordService = BenchmarkSupport.keywordOnlyService(knowledgeBase);
+        messages = BenchmarkSupport.messages(knowledgeBase, 1024, 7);
+
+        // Builds the index and warms the prompt cache outside the measurement
+        groqService.processMessage(messages[0]);
+        keywordService.processMessage(messages[0]);
+        System.out.printf("%n[processMessage] entries=%d %s%n", entries, groqService.getStats());
+    }
+
+    @Benchmark
+    public ChatResponse stubbedGroq(MessageCursor cursor) {
+        return groqService.processMessage(cursor.next(messages));
+    }
+
+    @Benchmark
+    public ChatResponse keywordOnly(MessageCursor cursor) {
+        return keywordService.processMessage(cursor.next(messages));
+    }
+}
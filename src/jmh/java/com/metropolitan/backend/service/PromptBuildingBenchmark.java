@@ -0,0 +1,69 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost and size of the Groq system prompt as the knowledge base grows: the full table, rendered on
+// every cache miss, against the top-k retrieval prompt built per message. Prompt sizes are printed
+// at setup.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PromptBuildingBenchmark {
+
+    private static final int TOP_K = 8;
+    private static final int MAX_PROMPT_TOKENS = 3000;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int entries;
+
+    private List<ChatbotKnowledgeBase> knowledgeBase;
+    private KnowledgeBaseIndex index;
+    private ChatbotService chatbotService;
+    private String[] messages;
+
+    @Setup
+    public void setUp() {
+        knowledgeBase = BenchmarkSupport.knowledgeBase(entries, 42);
+        index = KnowledgeBaseIndex.build(knowledgeBase, 1);
+        chatbotService = BenchmarkSupport.keywordOnlyService(knowledgeBase);
+        BenchmarkSupport.setField(chatbotService, "retrievalTopK", TOP_K);
+        BenchmarkSupport.setField(chatbotService, "maxPromptTokens", MAX_PROMPT_TOKENS);
+        messages = BenchmarkSupport.messages(knowledgeBase, 1024, 7);
+
+        int full = chatbotService.buildSystemPrompt(knowledgeBase).length();
+        long retrieval = 0;
+        for (String message : messages) {
+            retrieval += chatbotService.buildRetrievalPrompt(index.findRelevant(message, TOP_K)).length();
+        }
+        retrieval /= messages.length;
+        System.out.printf("%n[prompt size] entries=%d full=%d chars (~%d tokens), retrieval=%d chars (~%d tokens)%n",
+                entries, full, full / 4, retrieval, retrieval / 4);
+    }
+
+    @Benchmark
+    public String fullPrompt() {
+        return chatbotService.buildSystemPrompt(knowledgeBase);
+    }
+
+    @Benchmark
+    public String retrievalPrompt(MessageCursor cursor) {
+        return chatbotService.buildRetrievalPrompt(index.findRelevant(cursor.next(messages), TOP_K));
+    }
+}
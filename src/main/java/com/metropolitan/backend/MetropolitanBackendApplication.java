@@ -1,9 +1,12 @@
 package com.metropolitan.backend;
 
+import com.metropolitan.backend.repository.WindowedPageRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = WindowedPageRepositoryImpl.class)
 public class MetropolitanBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(MetropolitanBackendApplication.class, args);
@@ -1,14 +1,27 @@
 package com.metropolitan.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
+    @Value("${groq.http.connect-timeout-ms:5000}")
+    private long groqConnectTimeoutMs;
+
+    // Shared client for all Groq calls: HTTP/2 where the server offers it (one multiplexed
+    // connection), otherwise a pool of keep-alive HTTP/1.1 connections, so TLS handshakes
+    // are paid once rather than per chat message. How many idle connections are kept and for how
+    // long are JVM-wide jdk.httpclient.* flags, set on the command line (see README).
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient groqHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(groqConnectTimeoutMs))
+                .build();
     }
 }
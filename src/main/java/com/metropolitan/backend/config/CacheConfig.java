@@ -0,0 +1,35 @@
+package com.metropolitan.backend.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Paged lists are keyed by their filter, page and limit; single items by id
+    public static final String CASE_STUDIES = "caseStudies";
+    public static final String CASE_STUDY = "caseStudy";
+    public static final String NEWS = "news";
+    public static final String NEWS_ITEM = "newsItem";
+    public static final String TESTIMONIALS = "testimonials";
+    public static final String JOB_POSITIONS = "jobPositions";
+    public static final String JOB_POSITION = "jobPosition";
+
+    @Value("${content.cache.spec:maximumSize=1000,expireAfterWrite=30m,recordStats}")
+    private String contentCacheSpec;
+
+    // The expiry is only a safety net; admin writes evict the affected caches straight away
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                CASE_STUDIES, CASE_STUDY, NEWS, NEWS_ITEM, TESTIMONIALS, JOB_POSITIONS, JOB_POSITION);
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(contentCacheSpec));
+        return cacheManager;
+    }
+}
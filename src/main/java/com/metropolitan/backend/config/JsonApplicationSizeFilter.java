@@ -0,0 +1,155 @@
+package com.metropolitan.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// The JSON form of POST /api/careers/apply carries the resume base64 encoded in the body, which Jackson
+// reads into memory whole. Multipart uploads are capped by spring.servlet.multipart.*; this caps the
+// JSON body. A declared Content-Length over the cap is refused before anything is read; a chunked
+// body is counted as it is read and fails with BodyTooLargeException once it passes the cap, which
+// CareerController answers with the same 413.
+@Component
+public class JsonApplicationSizeFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final DataSize maxSize;
+
+    public JsonApplicationSizeFilter(
+            ObjectMapper objectMapper,
+            @Value("${careers.apply.max-json-size:14MB}") DataSize maxSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !"/api/careers/apply".equals(request.getServletPath())
+                || request.getContentType() == null
+                || !request.getContentType().toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        if (length > maxSize.toBytes()) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(tooLargeMessage()));
+            return;
+        }
+        // A declared length is enforced by the container; only an undeclared one needs counting
+        filterChain.doFilter(length < 0 ? new CappedRequest(request) : request, response);
+    }
+
+    private String tooLargeMessage() {
+        return "Application must be smaller than " + maxSize.toMegabytes() + " MB; upload large resumes as multipart/form-data";
+    }
+
+    public static class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    private class CappedRequest extends HttpServletRequestWrapper {
+
+        private ServletInputStream inputStream;
+
+        CappedRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new CappedInputStream(super.getInputStream());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    // Passes the body through and fails the read that takes it past the cap
+    private class CappedInputStream extends ServletInputStream {
+
+        private final ServletInputStream in;
+        private long count;
+
+        CappedInputStream(ServletInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return in.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            in.setReadListener(readListener);
+        }
+
+        private void count(int read) throws IOException {
+            count += read;
+            if (count > maxSize.toBytes()) {
+                throw new BodyTooLargeException(tooLargeMessage());
+            }
+        }
+    }
+}
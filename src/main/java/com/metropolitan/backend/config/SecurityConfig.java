@@ -1,5 +1,6 @@
 package com.metropolitan.backend.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of streamed responses (resume downloads); the request itself was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // Public endpoints - no authentication required
                         .requestMatchers(
                                 "/api/case-studies/**",
@@ -45,7 +48,8 @@ public class SecurityConfig {
                                 "/api/job-positions/**",
                                 "/api/inquiries",
                                 "/api/careers/apply",
-                                "/api/chatbot/**"
+                                "/api/chatbot/**",
+                                "/api/images/**"
                         ).permitAll()
                         // Admin auth endpoints - no authentication required
                         .requestMatchers("/api/admin/auth/**").permitAll()
@@ -0,0 +1,31 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.service.ContentCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AdminCacheController {
+
+    private final ContentCacheService contentCacheService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(contentCacheService.getStats());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, String>> clearAll() {
+        contentCacheService.clearAll();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Content caches cleared");
+        return ResponseEntity.ok(response);
+    }
+}
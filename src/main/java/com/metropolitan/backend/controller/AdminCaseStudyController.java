@@ -1,5 +1,6 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.CaseStudySummary;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.CaseStudy;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -26,14 +28,14 @@ public class AdminCaseStudyController {
     private final CaseStudyService caseStudyService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<CaseStudy>> getCaseStudies(
+    public ResponseEntity<PageResponse<CaseStudySummary>> getCaseStudies(
             @RequestParam(required = false) String division,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int limit
     ) {
-        PageResponse<CaseStudy> response = caseStudyService.getCaseStudiesWithFilters(
+        PageResponse<CaseStudySummary> response = caseStudyService.getCaseStudiesWithFilters(
                 division, fromDate, toDate, page, limit
         );
         return ResponseEntity.ok(response);
@@ -59,6 +61,22 @@ public class AdminCaseStudyController {
         }
     }
 
+    // JSON array of new rows; validated up front, then written in batched transactions
+    @PostMapping("/import")
+    public ResponseEntity<?> importCaseStudies(@RequestBody List<CaseStudy> caseStudies) {
+        try {
+            int imported = caseStudyService.importCaseStudies(caseStudies);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Import completed successfully");
+            response.put("imported", imported);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateCaseStudy(
             @PathVariable Long id,
@@ -67,6 +85,11 @@ public class AdminCaseStudyController {
         try {
             CaseStudy updated = caseStudyService.updateCaseStudy(id, caseStudy);
             return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException e) {
+            // An inline image that could not be decoded
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -101,4 +124,10 @@ public class AdminCaseStudyController {
         }
         return ResponseEntity.badRequest().body(errors);
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
@@ -33,6 +33,11 @@ public class AdminChatbotController {
         return ResponseEntity.ok(chatbotService.getCategories());
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(chatbotService.getStats());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getEntry(@PathVariable Long id) {
         return chatbotService.getEntryById(id)
@@ -53,6 +58,22 @@ public class AdminChatbotController {
         }
     }
 
+    // JSON array of new rows; validated up front, then written in batched transactions
+    @PostMapping("/import")
+    public ResponseEntity<?> importEntries(@RequestBody List<ChatbotKnowledgeBase> entries) {
+        try {
+            int imported = chatbotService.importEntries(entries);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Import completed successfully");
+            response.put("imported", imported);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateEntry(
             @PathVariable Long id,
@@ -0,0 +1,66 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.service.ImageStore;
+import com.metropolitan.backend.service.ImageVariant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Image uploads for case studies, news and job positions; the returned id goes in the entity's image field
+@RestController
+@RequestMapping("/api/admin/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AdminImageController {
+
+    private final ImageStore imageStore;
+
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxImageSize;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadImage(@RequestPart("image") MultipartFile image) {
+        if (!imageStore.isEnabled()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Image uploads are disabled: the image storage directory is not persistent");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        }
+        try (InputStream in = image.getInputStream()) {
+            String id = imageStore.store(in);
+            Map<String, String> variants = new LinkedHashMap<>();
+            for (ImageVariant variant : ImageVariant.values()) {
+                variants.put(variant.pathName(), "/api/images/" + id + "/" + variant.pathName());
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", id);
+            response.put("variants", variants);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, String>> handleMaxUploadSize(MaxUploadSizeExceededException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Image must be smaller than " + maxImageSize.toMegabytes() + " MB");
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+}
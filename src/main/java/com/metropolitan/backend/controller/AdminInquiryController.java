@@ -1,14 +1,20 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.CursorPageResponse;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.Inquiry;
+import com.metropolitan.backend.service.ExportWriter;
 import com.metropolitan.backend.service.InquiryService;
+import com.metropolitan.backend.service.InquiryWriteBehind;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -21,6 +27,7 @@ import java.util.Map;
 public class AdminInquiryController {
 
     private final InquiryService inquiryService;
+    private final InquiryWriteBehind inquiryWriteBehind;
 
     @GetMapping
     public ResponseEntity<PageResponse<Inquiry>> getInquiries(
@@ -33,6 +40,46 @@ public class AdminInquiryController {
         return ResponseEntity.ok(response);
     }
 
+    // Keyset alternative to the paged list: pass back nextCursor or prevCursor from the previous response
+    @GetMapping("/cursor")
+    public ResponseEntity<Object> getInquiriesByCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        try {
+            CursorPageResponse<Inquiry> response = inquiryService.getInquiriesByCursor(fromDate, toDate, cursor, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+
+    // Depth and throughput of the write-behind queue for public submissions
+    @GetMapping("/journal/stats")
+    public ResponseEntity<Map<String, Object>> getJournalStats() {
+        return ResponseEntity.ok(inquiryWriteBehind.getStats());
+    }
+
+    // Every matching row as CSV or NDJSON (format=csv|ndjson), written as it is read from a database cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInquiries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.fromParam(format);
+        StreamingResponseBody body = out -> inquiryService.exportInquiries(fromDate, toDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("inquiries." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getInquiry(@PathVariable Long id) {
         return inquiryService.getInquiry(id)
@@ -55,4 +102,10 @@ public class AdminInquiryController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
         }
     }
+
+    // An unknown export format, or a page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
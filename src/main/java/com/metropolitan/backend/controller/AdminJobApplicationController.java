@@ -1,18 +1,26 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.CursorPageResponse;
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.JobApplicationSummary;
 import com.metropolitan.backend.dto.PageResponse;
-import com.metropolitan.backend.model.JobApplication;
+import com.metropolitan.backend.service.BlobStore;
+import com.metropolitan.backend.service.ExportWriter;
 import com.metropolitan.backend.service.JobApplicationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/admin/job-applications")
@@ -23,18 +31,52 @@ public class AdminJobApplicationController {
     private final JobApplicationService jobApplicationService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<JobApplication>> getJobApplications(
+    public ResponseEntity<PageResponse<JobApplicationSummary>> getJobApplications(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int limit
     ) {
-        PageResponse<JobApplication> response = jobApplicationService.getJobApplicationsWithFilters(
+        PageResponse<JobApplicationSummary> response = jobApplicationService.getJobApplicationsWithFilters(
                 fromDate, toDate, page, limit
         );
         return ResponseEntity.ok(response);
     }
 
+    // Keyset alternative to the paged list: pass back nextCursor or prevCursor from the previous response
+    @GetMapping("/cursor")
+    public ResponseEntity<Object> getJobApplicationsByCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        try {
+            CursorPageResponse<JobApplicationSummary> response = jobApplicationService.getJobApplicationsByCursor(fromDate, toDate, cursor, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of(e.getMessage()));
+        }
+    }
+
+    // Every matching row as CSV or NDJSON (format=csv|ndjson), written as it is read from a database cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobApplications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.fromParam(format);
+        StreamingResponseBody body = out -> jobApplicationService.exportJobApplications(fromDate, toDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("job-applications." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getJobApplication(@PathVariable Long id) {
         return jobApplicationService.getJobApplication(id)
@@ -43,6 +85,27 @@ public class AdminJobApplicationController {
                         .body(ErrorResponse.of("Job Application not found")));
     }
 
+    // Streams the stored chunks straight into the response (declared as StreamingResponseBody so MVC
+    // writes it asynchronously; a missing resume is a plain 404)
+    @GetMapping("/{id}/resume")
+    public ResponseEntity<StreamingResponseBody> downloadResume(@PathVariable Long id) {
+        Optional<BlobStore.Blob> resume = jobApplicationService.getResume(id);
+        if (resume.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        BlobStore.Blob blob = resume.get();
+        StreamingResponseBody body = out -> jobApplicationService.writeResume(blob, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(blob.contentType()))
+                .contentLength(blob.size())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("resume-" + id + ".pdf")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteJobApplication(@PathVariable Long id) {
         try {
@@ -57,4 +120,10 @@ public class AdminJobApplicationController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
         }
     }
+
+    // An unknown export format, or a page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
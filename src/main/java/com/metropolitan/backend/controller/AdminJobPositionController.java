@@ -1,6 +1,7 @@
 package com.metropolitan.backend.controller;
 
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.JobPositionSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.JobPosition;
 import com.metropolitan.backend.service.JobPositionService;
@@ -26,14 +27,14 @@ public class AdminJobPositionController {
     private final JobPositionService jobPositionService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<JobPosition>> getJobPositions(
+    public ResponseEntity<PageResponse<JobPositionSummary>> getJobPositions(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int limit
     ) {
-        PageResponse<JobPosition> response = jobPositionService.getJobPositionsWithFilters(
+        PageResponse<JobPositionSummary> response = jobPositionService.getJobPositionsWithFilters(
                 category, fromDate, toDate, page, limit
         );
         return ResponseEntity.ok(response);
@@ -67,6 +68,11 @@ public class AdminJobPositionController {
         try {
             JobPosition updated = jobPositionService.updateJobPosition(id, jobPosition);
             return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException e) {
+            // An inline image that could not be decoded
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -101,4 +107,10 @@ public class AdminJobPositionController {
         }
         return ResponseEntity.badRequest().body(errors);
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.metropolitan.backend.controller;
 
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.NewsSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.News;
 import com.metropolitan.backend.service.NewsService;
@@ -26,13 +27,13 @@ public class AdminNewsController {
     private final NewsService newsService;
 
     @GetMapping
-    public ResponseEntity<PageResponse<News>> getNews(
+    public ResponseEntity<PageResponse<NewsSummary>> getNews(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int limit
     ) {
-        PageResponse<News> response = newsService.getNewsWithFilters(fromDate, toDate, page, limit);
+        PageResponse<NewsSummary> response = newsService.getNewsWithFilters(fromDate, toDate, page, limit);
         return ResponseEntity.ok(response);
     }
 
@@ -64,6 +65,11 @@ public class AdminNewsController {
         try {
             News updated = newsService.updateNews(id, news);
             return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException e) {
+            // An inline image that could not be decoded
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -98,4 +104,10 @@ public class AdminNewsController {
         }
         return ResponseEntity.badRequest().body(errors);
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
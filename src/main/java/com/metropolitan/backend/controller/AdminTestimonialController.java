@@ -101,4 +101,10 @@ public class AdminTestimonialController {
         }
         return ResponseEntity.badRequest().body(errors);
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
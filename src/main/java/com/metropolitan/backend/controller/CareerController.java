@@ -1,15 +1,28 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.config.JsonApplicationSizeFilter;
 import com.metropolitan.backend.model.JobApplication;
 import com.metropolitan.backend.service.JobApplicationService;
+import com.metropolitan.backend.service.ResumeUploadLimiter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,11 +33,94 @@ import java.util.Map;
 public class CareerController {
 
     private final JobApplicationService jobApplicationService;
+    private final ResumeUploadLimiter resumeUploadLimiter;
 
-    @PostMapping("/apply")
-    public ResponseEntity<JobApplication> applyForJob(@Valid @RequestBody JobApplication jobApplication) {
-        JobApplication created = jobApplicationService.createJobApplication(jobApplication);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxResumeSize;
+
+    // The multipart form binds onto the entity, so only the applicant's own fields are taken from it
+    @InitBinder("jobApplication")
+    public void allowApplicantFields(WebDataBinder binder) {
+        binder.setAllowedFields("name", "email", "position", "portfolioUrl", "coverLetter");
+    }
+
+    // Bodies over careers.apply.max-json-size are turned away by JsonApplicationSizeFilter before
+    // they are read. A base64 resume is written to the blob store under the same write limit as a
+    // multipart one.
+    @PostMapping(value = "/apply", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> applyForJob(@Valid @RequestBody JobApplication jobApplication) {
+        Map<String, String> error = new HashMap<>();
+        boolean withResume = jobApplication.getResumePdf() != null && !jobApplication.getResumePdf().isBlank();
+        if (withResume && !resumeUploadLimiter.tryAcquire()) {
+            return tooManyUploads(error);
+        }
+        try {
+            JobApplication created = jobApplicationService.createJobApplication(jobApplication);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } finally {
+            if (withResume) {
+                resumeUploadLimiter.release();
+            }
+        }
+    }
+
+    // Form fields plus a "resume" file part. Tomcat spools the part to a temp file as it arrives
+    // (parsed lazily, so size errors land in the handler below), and it is copied into the blob
+    // store in chunks; the file is never held in memory.
+    @PostMapping(value = "/apply", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> applyForJobWithResume(
+            @Valid @ModelAttribute JobApplication jobApplication,
+            @RequestPart("resume") MultipartFile resume
+    ) {
+        Map<String, String> error = new HashMap<>();
+        if (resume.isEmpty()) {
+            error.put("message", "Resume is required");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (!resumeUploadLimiter.tryAcquire()) {
+            return tooManyUploads(error);
+        }
+        try (InputStream in = resume.getInputStream()) {
+            JobApplication created = jobApplicationService.createJobApplication(jobApplication, in);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            resumeUploadLimiter.release();
+        }
+    }
+
+    private static ResponseEntity<Map<String, String>> tooManyUploads(Map<String, String> error) {
+        error.put("message", "Too many applications are being uploaded, please try again shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, String>> handleMaxUploadSize(MaxUploadSizeExceededException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Resume must be smaller than " + maxResumeSize.toMegabytes() + " MB");
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
+    // A chunked JSON body that ran past careers.apply.max-json-size while it was read, or one that
+    // is not valid JSON
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        Map<String, String> error = new HashMap<>();
+        if (ex.getMostSpecificCause() instanceof JsonApplicationSizeFilter.BodyTooLargeException tooLarge) {
+            error.put("message", tooLarge.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+        }
+        error.put("message", "Request body is not valid JSON");
+        return ResponseEntity.badRequest().body(error);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
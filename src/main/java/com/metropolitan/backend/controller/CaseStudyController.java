@@ -1,12 +1,18 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.CaseStudySummary;
 import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.CaseStudy;
 import com.metropolitan.backend.service.CaseStudyService;
+import com.metropolitan.backend.service.ContentSnapshots;
+import com.metropolitan.backend.service.ContentVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/case-studies")
@@ -15,22 +21,41 @@ import org.springframework.web.bind.annotation.*;
 public class CaseStudyController {
 
     private final CaseStudyService caseStudyService;
+    private final ContentVersions contentVersions;
+    private final ContentSnapshots contentSnapshots;
 
     @GetMapping
-    public ResponseEntity<PageResponse<CaseStudy>> getCaseStudies(
+    public ResponseEntity<?> getCaseStudies(
             @RequestParam(required = false) String division,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            ServletWebRequest request
     ) {
-        PageResponse<CaseStudy> response = caseStudyService.getCaseStudies(division, page, limit);
+        if (contentVersions.checkNotModified(CaseStudy.class, request)) {
+            return null;
+        }
+        Optional<ContentSnapshots.Snapshot> snapshot = contentSnapshots.find(CaseStudy.class, ContentSnapshots.key("case-studies", division, page, limit));
+        if (snapshot.isPresent()) {
+            return snapshot.get().toResponse(request);
+        }
+        PageResponse<CaseStudySummary> response = caseStudyService.getCaseStudies(division, page, limit);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getCaseStudy(@PathVariable Long id) {
+    public ResponseEntity<Object> getCaseStudy(@PathVariable Long id, ServletWebRequest request) {
+        if (contentVersions.checkNotModified(CaseStudy.class, request)) {
+            return null;
+        }
         return caseStudyService.getCaseStudy(id)
                 .<ResponseEntity<Object>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(404)
                         .body(ErrorResponse.of("Case Study not found")));
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
@@ -5,8 +5,16 @@ import com.metropolitan.backend.dto.ChatResponse;
 import com.metropolitan.backend.service.ChatbotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/chatbot")
@@ -16,9 +24,50 @@ public class ChatbotController {
 
     private final ChatbotService chatbotService;
 
+    @Value("${chatbot.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
+
     @PostMapping("/chat")
     public ResponseEntity<ChatResponse> chat(@Valid @RequestBody ChatRequest request) {
         ChatResponse response = chatbotService.processMessage(request.getMessage());
         return ResponseEntity.ok(response);
     }
+
+    // Server-sent events: a "token" event per piece of the answer, then a "done" event
+    // carrying the complete ChatResponse. The servlet thread is released straight away.
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@Valid @RequestBody ChatRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        CompletableFuture<ChatResponse> answer =
+                chatbotService.streamMessage(request.getMessage(), token -> send(emitter, "token", Map.of("content", token)));
+        answer.whenComplete((response, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+                return;
+            }
+            try {
+                send(emitter, "done", response);
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+
+        // The client hung up, the emitter timed out, or the response ended: stop reading from Groq.
+        // Cancelling an answer that already completed does nothing.
+        emitter.onTimeout(() -> answer.cancel(true));
+        emitter.onError(error -> answer.cancel(true));
+        emitter.onCompletion(() -> answer.cancel(true));
+
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.metropolitan.backend.controller;
+
+import com.metropolitan.backend.service.ImageStore;
+import com.metropolitan.backend.service.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    // Asset ids are content hashes, so the bytes behind a URL never change
+    private static final String CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+
+    @GetMapping("/{id}/{variant}")
+    public void getImage(
+            @PathVariable String id,
+            @PathVariable String variant,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Optional<ImageStore.StoredImage> found = ImageVariant.fromPath(variant)
+                .flatMap(imageVariant -> imageStore.find(id, imageVariant));
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        ImageStore.StoredImage image = found.get();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + id + "-" + variant + "\"")) {
+            return;
+        }
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(image.size());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        // Tomcat sends the file from the kernel page cache once the request returns; otherwise the
+        // channel is copied straight to the response without an intermediate byte[]
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.file().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(image.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.size()) {
+                position += channel.transferTo(position, image.size() - position, out);
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.metropolitan.backend.controller;
 
 import com.metropolitan.backend.model.Inquiry;
+import com.metropolitan.backend.service.InquiryQueueFullException;
 import com.metropolitan.backend.service.InquiryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -22,9 +24,23 @@ public class InquiryController {
     private final InquiryService inquiryService;
 
     @PostMapping
-    public ResponseEntity<Inquiry> createInquiry(@Valid @RequestBody Inquiry inquiry) {
-        Inquiry created = inquiryService.createInquiry(inquiry);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<?> createInquiry(@Valid @RequestBody Inquiry inquiry) {
+        try {
+            Inquiry created = inquiryService.createInquiry(inquiry);
+            // 202 when the inquiry was queued rather than written
+            HttpStatus status = created.getId() != null ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(created);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (InquiryQueueFullException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "We are receiving a lot of inquiries right now, please try again shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(error);
+        }
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
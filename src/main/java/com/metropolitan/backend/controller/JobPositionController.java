@@ -1,14 +1,19 @@
 package com.metropolitan.backend.controller;
 
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.JobPositionSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.JobPosition;
+import com.metropolitan.backend.service.ContentSnapshots;
+import com.metropolitan.backend.service.ContentVersions;
 import com.metropolitan.backend.service.JobPositionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/job-positions")
@@ -17,14 +22,28 @@ import java.util.List;
 public class JobPositionController {
 
     private final JobPositionService jobPositionService;
+    private final ContentVersions contentVersions;
+    private final ContentSnapshots contentSnapshots;
 
     @GetMapping
     public ResponseEntity<?> getActiveJobPositions(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest request
     ) {
+        if (contentVersions.checkNotModified(JobPosition.class, request)) {
+            return null;
+        }
+        String key = page != null && limit != null
+                ? ContentSnapshots.key("job-positions", page, limit)
+                : ContentSnapshots.key("job-positions");
+        Optional<ContentSnapshots.Snapshot> snapshot = contentSnapshots.find(JobPosition.class, key);
+        if (snapshot.isPresent()) {
+            return snapshot.get().toResponse(request);
+        }
+
         if (page != null && limit != null) {
-            PageResponse<JobPosition> response = jobPositionService.getActiveJobPositionsPaginated(page, limit);
+            PageResponse<JobPositionSummary> response = jobPositionService.getActiveJobPositionsPaginated(page, limit);
             return ResponseEntity.ok(response);
         }
         List<JobPosition> positions = jobPositionService.getActiveJobPositions();
@@ -32,10 +51,19 @@ public class JobPositionController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getJobPosition(@PathVariable Long id) {
+    public ResponseEntity<Object> getJobPosition(@PathVariable Long id, ServletWebRequest request) {
+        if (contentVersions.checkNotModified(JobPosition.class, request)) {
+            return null;
+        }
         return jobPositionService.getJobPosition(id)
                 .<ResponseEntity<Object>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(404)
                         .body(ErrorResponse.of("Job Position not found")));
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
@@ -1,12 +1,18 @@
 package com.metropolitan.backend.controller;
 
 import com.metropolitan.backend.dto.ErrorResponse;
+import com.metropolitan.backend.dto.NewsSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.service.ContentSnapshots;
+import com.metropolitan.backend.service.ContentVersions;
 import com.metropolitan.backend.service.NewsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/news")
@@ -15,21 +21,40 @@ import org.springframework.web.bind.annotation.*;
 public class NewsController {
 
     private final NewsService newsService;
+    private final ContentVersions contentVersions;
+    private final ContentSnapshots contentSnapshots;
 
     @GetMapping
-    public ResponseEntity<PageResponse<News>> getNews(
+    public ResponseEntity<?> getNews(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            ServletWebRequest request
     ) {
-        PageResponse<News> response = newsService.getNews(page, limit);
+        if (contentVersions.checkNotModified(News.class, request)) {
+            return null;
+        }
+        Optional<ContentSnapshots.Snapshot> snapshot = contentSnapshots.find(News.class, ContentSnapshots.key("news", page, limit));
+        if (snapshot.isPresent()) {
+            return snapshot.get().toResponse(request);
+        }
+        PageResponse<NewsSummary> response = newsService.getNews(page, limit);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getNewsItem(@PathVariable Long id) {
+    public ResponseEntity<Object> getNewsItem(@PathVariable Long id, ServletWebRequest request) {
+        if (contentVersions.checkNotModified(News.class, request)) {
+            return null;
+        }
         return newsService.getNewsItem(id)
                 .<ResponseEntity<Object>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(404)
                         .body(ErrorResponse.of("News item not found")));
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
@@ -1,13 +1,18 @@
 package com.metropolitan.backend.controller;
 
+import com.metropolitan.backend.dto.ErrorResponse;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.Testimonial;
+import com.metropolitan.backend.service.ContentSnapshots;
+import com.metropolitan.backend.service.ContentVersions;
 import com.metropolitan.backend.service.TestimonialService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/testimonials")
@@ -16,13 +21,27 @@ import java.util.List;
 public class TestimonialController {
 
     private final TestimonialService testimonialService;
+    private final ContentVersions contentVersions;
+    private final ContentSnapshots contentSnapshots;
 
     @GetMapping
     public ResponseEntity<?> getTestimonials(
             @RequestParam(required = false) String division,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest request
     ) {
+        if (contentVersions.checkNotModified(Testimonial.class, request)) {
+            return null;
+        }
+        String key = page != null && limit != null
+                ? ContentSnapshots.key("testimonials", division, page, limit)
+                : ContentSnapshots.key("testimonials", division);
+        Optional<ContentSnapshots.Snapshot> snapshot = contentSnapshots.find(Testimonial.class, key);
+        if (snapshot.isPresent()) {
+            return snapshot.get().toResponse(request);
+        }
+
         // Support both paginated and non-paginated requests for backwards compatibility
         if (page != null && limit != null) {
             PageResponse<Testimonial> response = testimonialService.getTestimonials(division, page, limit);
@@ -32,4 +51,10 @@ public class TestimonialController {
             return ResponseEntity.ok(testimonials);
         }
     }
+
+    // A page or limit out of range
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(ex.getMessage()));
+    }
 }
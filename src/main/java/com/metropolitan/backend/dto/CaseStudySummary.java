@@ -0,0 +1,16 @@
+package com.metropolitan.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Case study list row without the description
+public record CaseStudySummary(
+        Long id,
+        String title,
+        String image,
+        String division,
+        String client,
+        String location,
+        String completionDate,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,25 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Keyset counterpart of PageResponse: no total, just opaque cursors to the neighbouring pages
+// (null when there is nothing further in that direction)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> data;
+    private int limit;
+    private String nextCursor;
+    private String prevCursor;
+
+    public static <T> CursorPageResponse<T> of(List<T> data, int limit, PageCursor next, PageCursor prev) {
+        return new CursorPageResponse<>(data, limit,
+                next != null ? next.encode() : null,
+                prev != null ? prev.encode() : null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.metropolitan.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Inquiry as exported, without the internal submission id
+public record InquiryExportRow(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        String subject,
+        String message,
+        String division,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.metropolitan.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Job application as exported; the resume itself stays behind its download endpoint
+public record JobApplicationExportRow(
+        Long id,
+        String name,
+        String email,
+        String position,
+        String portfolioUrl,
+        String coverLetter,
+        Long resumeBlobId,
+        String resumePdf,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.metropolitan.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Job application list row without the cover letter and resume
+public record JobApplicationSummary(
+        Long id,
+        String name,
+        String email,
+        String position,
+        String portfolioUrl,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.metropolitan.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Job position list row without detail and information
+public record JobPositionSummary(
+        Long id,
+        String title,
+        String category,
+        String status,
+        String image,
+        LocalDateTime createdAt
+) {
+}
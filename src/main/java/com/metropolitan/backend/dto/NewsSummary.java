@@ -0,0 +1,15 @@
+package com.metropolitan.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// News list row: everything but the HTML content, which only the detail endpoint returns
+public record NewsSummary(
+        Long id,
+        String title,
+        String summary,
+        String image,
+        LocalDate date,
+        LocalDateTime createdAt
+) {
+}
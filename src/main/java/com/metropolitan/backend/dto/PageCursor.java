@@ -0,0 +1,47 @@
+package com.metropolitan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in a list ordered by (createdAt, id), newest first. Clients only ever see the encoded
+// form; backward cursors page towards newer rows.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor {
+    private LocalDateTime createdAt;
+    private Long id;
+    private boolean backward;
+
+    public static PageCursor after(LocalDateTime createdAt, Long id) {
+        return new PageCursor(createdAt, id, false);
+    }
+
+    public static PageCursor before(LocalDateTime createdAt, Long id) {
+        return new PageCursor(createdAt, id, true);
+    }
+
+    public String encode() {
+        String raw = (backward ? "p" : "n") + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(parts[0].equals("n") || parts[0].equals("p"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), parts[0].equals("p"));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
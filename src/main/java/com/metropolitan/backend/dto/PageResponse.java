@@ -3,6 +3,7 @@ package com.metropolitan.backend.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -19,4 +20,8 @@ public class PageResponse<T> {
         int totalPages = (int) Math.ceil((double) total / limit);
         return new PageResponse<>(data, total, page, totalPages);
     }
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return of(page.getContent(), page.getTotalElements(), page.getNumber() + 1, page.getSize());
+    }
 }
@@ -19,4 +19,6 @@ public class GroqRequest {
     private int maxTokens = 512;
 
     private double temperature = 0.3;
+
+    private boolean stream;
 }
@@ -0,0 +1,38 @@
+package com.metropolitan.backend.dto.groq;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+// One "data:" event of a streamed chat completion
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GroqStreamChunk {
+
+    private List<Choice> choices;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Choice {
+        private Delta delta;
+
+        @JsonProperty("finish_reason")
+        private String finishReason;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Delta {
+        private String role;
+        private String content;
+    }
+
+    public String getContent() {
+        if (choices != null && !choices.isEmpty() && choices.get(0).getDelta() != null) {
+            return choices.get(0).getDelta().getContent();
+        }
+        return null;
+    }
+}
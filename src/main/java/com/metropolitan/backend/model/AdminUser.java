@@ -1,5 +1,6 @@
 package com.metropolitan.backend.model;
 
+import com.metropolitan.backend.service.AdminUserChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,13 +13,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "admin_user")
+@EntityListeners(AdminUserChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AdminUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_user_id_seq")
+    @SequenceGenerator(name = "admin_user_id_seq", sequenceName = "admin_user_id_seq", allocationSize = 50)
     private Long id;
 
     @Email(message = "Invalid email format")
@@ -1,10 +1,15 @@
 package com.metropolitan.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.metropolitan.backend.util.TextTokenizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,11 +19,11 @@ import java.time.LocalDateTime;
 @Table(name = "chatbot_knowledge_base")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class ChatbotKnowledgeBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chatbot_knowledge_base_id_seq")
+    @SequenceGenerator(name = "chatbot_knowledge_base_id_seq", sequenceName = "chatbot_knowledge_base_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Question is required")
@@ -42,4 +47,75 @@ public class ChatbotKnowledgeBase {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Search tokens derived from question and keywords, computed once per load instead of per message
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    private String normalizedQuestion;
+
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    private String[] questionWords;
+
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    private String[] keywordTokens;
+
+    // Persistent fields only; the tokens are derived from question and keywords on first use
+    public ChatbotKnowledgeBase(Long id, String question, String answer, String category, String keywords,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.question = question;
+        this.answer = answer;
+        this.category = category;
+        this.keywords = keywords;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @PostLoad
+    void tokenize() {
+        normalizedQuestion = question != null ? question.toLowerCase() : "";
+        questionWords = TextTokenizer.splitWords(normalizedQuestion);
+        keywordTokens = keywords != null && !keywords.isEmpty()
+                ? TextTokenizer.splitKeywords(keywords.toLowerCase())
+                : new String[0];
+    }
+
+    // Changing the source text drops the derived tokens; the getters recompute them on demand
+    public void setQuestion(String question) {
+        this.question = question;
+        this.normalizedQuestion = null;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+        this.normalizedQuestion = null;
+    }
+
+    public String getNormalizedQuestion() {
+        if (normalizedQuestion == null) {
+            tokenize();
+        }
+        return normalizedQuestion;
+    }
+
+    public String[] getQuestionWords() {
+        getNormalizedQuestion();
+        return questionWords;
+    }
+
+    public String[] getKeywordTokens() {
+        getNormalizedQuestion();
+        return keywordTokens;
+    }
 }
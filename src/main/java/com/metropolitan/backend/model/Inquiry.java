@@ -1,14 +1,17 @@
 package com.metropolitan.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "inquiries")
@@ -18,7 +21,8 @@ import java.time.LocalDateTime;
 public class Inquiry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inquiries_id_seq")
+    @SequenceGenerator(name = "inquiries_id_seq", sequenceName = "inquiries_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -40,10 +44,16 @@ public class Inquiry {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String message;
 
+    @Size(max = 50, message = "Division must be at most 50 characters")
     @Column(length = 50)
     private String division;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // Set for inquiries written from the write-behind journal
+    @JsonIgnore
+    @Column(name = "submission_id", updatable = false)
+    private UUID submissionId;
 }
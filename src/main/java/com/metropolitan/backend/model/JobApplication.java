@@ -1,5 +1,7 @@
 package com.metropolitan.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -18,7 +20,8 @@ import java.time.LocalDateTime;
 public class JobApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_applications_id_seq")
+    @SequenceGenerator(name = "job_applications_id_seq", sequenceName = "job_applications_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -40,10 +43,29 @@ public class JobApplication {
     @Column(name = "cover_letter", columnDefinition = "TEXT")
     private String coverLetter;
 
+    // Base64 resume as submitted; moved into the blob store on save and never sent back. Older rows
+    // that V4__MoveResumesToBlobStore could not decode, usually links, keep their value here and
+    // show it as resumeUrl.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "resume_pdf", columnDefinition = "TEXT")
     private String resumePdf;
 
+    // Downloaded through /api/admin/job-applications/{id}/resume
+    @JsonIgnore
+    @Column(name = "resume_blob_id")
+    private Long resumeBlobId;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    @JsonProperty("hasResume")
+    public boolean hasResume() {
+        return resumeBlobId != null;
+    }
+
+    @JsonProperty(value = "resumeUrl", access = JsonProperty.Access.READ_ONLY)
+    public String getResumeUrl() {
+        return resumeBlobId == null ? resumePdf : null;
+    }
 }
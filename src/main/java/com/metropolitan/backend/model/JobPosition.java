@@ -1,5 +1,6 @@
 package com.metropolitan.backend.model;
 
+import com.metropolitan.backend.service.ContentChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ContentChangeListener.class)
 @Table(name = "job_positions")
 @Data
 @NoArgsConstructor
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class JobPosition {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_positions_id_seq")
+    @SequenceGenerator(name = "job_positions_id_seq", sequenceName = "job_positions_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
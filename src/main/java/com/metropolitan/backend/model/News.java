@@ -1,5 +1,6 @@
 package com.metropolitan.backend.model;
 
+import com.metropolitan.backend.service.ContentChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ContentChangeListener.class)
 @Table(name = "news")
 @Data
 @NoArgsConstructor
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class News {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_id_seq")
+    @SequenceGenerator(name = "news_id_seq", sequenceName = "news_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
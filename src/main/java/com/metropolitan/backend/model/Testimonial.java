@@ -1,5 +1,6 @@
 package com.metropolitan.backend.model;
 
+import com.metropolitan.backend.service.ContentChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ContentChangeListener.class)
 @Table(name = "testimonials")
 @Data
 @NoArgsConstructor
@@ -16,7 +18,8 @@ import java.time.LocalDateTime;
 public class Testimonial {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "testimonials_id_seq")
+    @SequenceGenerator(name = "testimonials_id_seq", sequenceName = "testimonials_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
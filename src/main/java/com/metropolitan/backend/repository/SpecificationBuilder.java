@@ -0,0 +1,47 @@
+package com.metropolitan.backend.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Dynamic filters for list queries. Only the values actually supplied become predicates, so every
+// filter combination is its own SQL statement with its own plan rather than one catch-all
+// "? is null or col = ?" query the planner can't use indexes for.
+public final class SpecificationBuilder<T> {
+
+    private final List<Specification<T>> specifications = new ArrayList<>();
+
+    private SpecificationBuilder() {
+    }
+
+    public static <T> SpecificationBuilder<T> create() {
+        return new SpecificationBuilder<>();
+    }
+
+    public SpecificationBuilder<T> equal(String attribute, Object value) {
+        if (value != null) {
+            specifications.add((root, query, builder) -> builder.equal(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    public <Y extends Comparable<? super Y>> SpecificationBuilder<T> atLeast(String attribute, Y value) {
+        if (value != null) {
+            specifications.add((root, query, builder) -> builder.greaterThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    public <Y extends Comparable<? super Y>> SpecificationBuilder<T> atMost(String attribute, Y value) {
+        if (value != null) {
+            specifications.add((root, query, builder) -> builder.lessThanOrEqualTo(root.<Y>get(attribute), value));
+        }
+        return this;
+    }
+
+    // Null when nothing was supplied, which leaves the query without a WHERE clause
+    public Specification<T> build() {
+        return specifications.isEmpty() ? null : Specification.allOf(specifications);
+    }
+}
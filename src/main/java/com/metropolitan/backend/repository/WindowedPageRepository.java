@@ -0,0 +1,32 @@
+package com.metropolitan.backend.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@NoRepositoryBean
+public interface WindowedPageRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    // One page of matches plus the total, read in a single statement with COUNT(*) OVER()
+    Page<T> findPage(Specification<T> specification, Pageable pageable);
+
+    // Same, selecting only the attributes named by the record's components
+    <R extends Record> Page<R> findPage(Specification<T> specification, Pageable pageable, Class<R> projection);
+
+    // The first rows in sort order, without offset or count; keyset pages pass their seek predicate here
+    List<T> findFirst(Specification<T> specification, Sort sort, int limit);
+
+    <R extends Record> List<R> findFirst(Specification<T> specification, Sort sort, int limit, Class<R> projection);
+
+    // Every match in sort order, read from a server-side cursor fetchSize rows at a time. Projections are
+    // not managed, so the persistence context stays empty however many rows go by. PostgreSQL only uses
+    // a cursor inside a transaction; the caller must also close the stream.
+    <R extends Record> Stream<R> streamAll(Specification<T> specification, Sort sort, int fetchSize, Class<R> projection);
+}
@@ -0,0 +1,198 @@
+package com.metropolitan.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaRoot;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Base class for every repository (see MetropolitanBackendApplication)
+public class WindowedPageRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID>
+        implements WindowedPageRepository<T, ID> {
+
+    private static final Map<Class<?>, RecordProjection<?>> PROJECTIONS = new ConcurrentHashMap<>();
+
+    private final EntityManager entityManager;
+
+    public WindowedPageRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<T> findPage(Specification<T> specification, Pageable pageable) {
+        return findPage(specification, pageable, List::of, row -> row.get(0, getDomainClass()));
+    }
+
+    @Override
+    public <R extends Record> Page<R> findPage(Specification<T> specification, Pageable pageable, Class<R> projection) {
+        RecordProjection<R> recordProjection = projection(projection);
+        return findPage(specification, pageable, recordProjection::select, recordProjection::map);
+    }
+
+    @Override
+    public List<T> findFirst(Specification<T> specification, Sort sort, int limit) {
+        return getQuery(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public <R extends Record> List<R> findFirst(Specification<T> specification, Sort sort, int limit, Class<R> projection) {
+        RecordProjection<R> recordProjection = projection(projection);
+        List<Tuple> rows = projectionQuery(specification, sort, recordProjection)
+                .setMaxResults(limit)
+                .getResultList();
+        List<R> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            content.add(recordProjection.map(row));
+        }
+        return content;
+    }
+
+    @Override
+    public <R extends Record> Stream<R> streamAll(Specification<T> specification, Sort sort, int fetchSize, Class<R> projection) {
+        RecordProjection<R> recordProjection = projection(projection);
+        return projectionQuery(specification, sort, recordProjection)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()
+                .map(recordProjection::map);
+    }
+
+    private TypedQuery<Tuple> projectionQuery(Specification<T> specification, Sort sort, RecordProjection<?> recordProjection) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = builder.createTupleQuery();
+        JpaRoot<T> root = query.from(getDomainClass());
+
+        where(query, root, builder, specification);
+        query.multiselect(recordProjection.select(root));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private <R> Page<R> findPage(
+            Specification<T> specification,
+            Pageable pageable,
+            Function<Root<T>, List<Selection<?>>> selection,
+            Function<Tuple, R> mapper
+    ) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = builder.createTupleQuery();
+        JpaRoot<T> root = query.from(getDomainClass());
+
+        where(query, root, builder, specification);
+        // The window runs after WHERE and before LIMIT, so every row carries the full match count
+        List<Selection<?>> selections = new ArrayList<>(selection.apply(root));
+        int totalColumn = selections.size();
+        selections.add(builder.count(root, builder.createWindow()));
+        query.multiselect(selections);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+
+        List<R> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            content.add(mapper.apply(row));
+        }
+
+        long total;
+        if (!rows.isEmpty()) {
+            total = rows.get(0).get(totalColumn, Long.class);
+        } else if (pageable.isPaged() && pageable.getOffset() > 0) {
+            // Past the last page there are no rows to carry the total, so count separately
+            total = count(specification);
+        } else {
+            total = 0;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void where(JpaCriteriaQuery<Tuple> query, Root<T> root, HibernateCriteriaBuilder builder,
+                       Specification<T> specification) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R extends Record> RecordProjection<R> projection(Class<R> type) {
+        return (RecordProjection<R>) PROJECTIONS.computeIfAbsent(type, RecordProjection::new);
+    }
+
+    // Selects only the entity attributes named by the record's components and builds the record
+    // from them, so list queries never fetch the columns a summary leaves out
+    private static final class RecordProjection<R> {
+
+        private final String[] attributes;
+        private final Constructor<R> constructor;
+
+        RecordProjection(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            attributes = Arrays.stream(components).map(RecordComponent::getName).toArray(String[]::new);
+            try {
+                @SuppressWarnings("unchecked")
+                Constructor<R> canonical = (Constructor<R>) type.getDeclaredConstructor(
+                        Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+                constructor = canonical;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("No canonical constructor on " + type.getName(), e);
+            }
+        }
+
+        List<Selection<?>> select(Root<?> root) {
+            List<Selection<?>> selections = new ArrayList<>(attributes.length);
+            for (String attribute : attributes) {
+                selections.add(root.get(attribute));
+            }
+            return selections;
+        }
+
+        R map(Tuple row) {
+            Object[] values = new Object[attributes.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.get(i);
+            }
+            try {
+                return constructor.newInstance(values);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Could not build " + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+    }
+}
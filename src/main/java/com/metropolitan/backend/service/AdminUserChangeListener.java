@@ -0,0 +1,36 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.AdminUser;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// JPA entity listener, created through Spring so it can reach the token cache. Any change to an
+// admin (deactivation, password, removal) forces their next request back through the database.
+// The eviction waits for the commit: evicting at flush time would let a request in between load
+// the old row and cache it again.
+@Component
+@RequiredArgsConstructor
+public class AdminUserChangeListener {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @PostUpdate
+    @PostRemove
+    void adminUserChanged(AdminUser adminUser) {
+        String email = adminUser.getEmail();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            verifiedTokenCache.evictUser(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                verifiedTokenCache.evictUser(email);
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.metropolitan.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+// Binary files kept in the database as fixed-size chunks (blobs / blob_chunks). Writes and reads go
+// one chunk at a time, so a file never has to fit in memory on either side.
+@Slf4j
+@Service
+public class BlobStore {
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+
+    public BlobStore(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL only streams a result set with a fetch size inside a transaction
+        this.jdbcTemplate.setFetchSize(1);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public record Blob(long id, String contentType, long size) {
+    }
+
+    // Call inside the caller's transaction so a failed write leaves no partial blob behind
+    public Blob store(InputStream content, String contentType) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Long id = jdbcTemplate.queryForObject(
+                "insert into blobs (content_type, size, created_at) values (?, 0, now()) returning id",
+                Long.class, contentType);
+
+        long size = 0;
+        int seq = 0;
+        try (InputStream in = new DigestInputStream(content, sha256)) {
+            byte[] chunk;
+            while ((chunk = in.readNBytes(CHUNK_SIZE)).length > 0) {
+                jdbcTemplate.update("insert into blob_chunks (blob_id, seq, data) values (?, ?, ?)", id, seq++, chunk);
+                size += chunk.length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        jdbcTemplate.update("update blobs set size = ?, sha256 = ? where id = ?",
+                size, HexFormat.of().formatHex(sha256.digest()), id);
+        log.debug("Stored blob {} ({} bytes in {} chunks)", id, size, seq);
+        return new Blob(id, contentType, size);
+    }
+
+    public Optional<Blob> find(long id) {
+        List<Blob> blobs = jdbcTemplate.query("select id, content_type, size from blobs where id = ?",
+                (rs, row) -> new Blob(rs.getLong("id"), rs.getString("content_type"), rs.getLong("size")), id);
+        return blobs.stream().findFirst();
+    }
+
+    // Copies the chunks to out in order; only the chunk being written is held in memory
+    public void writeTo(long id, OutputStream out) {
+        readTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query("select data from blob_chunks where blob_id = ? order by seq", rs -> {
+                    try {
+                        out.write(rs.getBytes(1));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, id));
+    }
+
+    public void delete(long id) {
+        jdbcTemplate.update("delete from blobs where id = ?", id);
+    }
+}
@@ -0,0 +1,147 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Okapi BM25 over question, answer and keywords of each knowledge base entry.
+// Question and keyword terms are counted twice so they outrank incidental answer text.
+final class Bm25Retriever {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int FIELD_BOOST = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from",
+            "how", "i", "in", "is", "it", "me", "my", "of", "on", "or", "our", "the", "this",
+            "that", "to", "we", "what", "when", "where", "which", "who", "why", "with", "you", "your"
+    );
+
+    private final List<ChatbotKnowledgeBase> entries;
+    private final Map<String, Posting> postings;
+    private final float[] lengthNorms;
+
+    private record Posting(double idf, int[] ordinals, int[] frequencies) {
+    }
+
+    Bm25Retriever(List<ChatbotKnowledgeBase> entries) {
+        this.entries = entries;
+        this.lengthNorms = new float[entries.size()];
+
+        Map<String, Map<Integer, Integer>> frequencies = new HashMap<>();
+        int[] lengths = new int[entries.size()];
+        long totalLength = 0;
+
+        for (int ordinal = 0; ordinal < entries.size(); ordinal++) {
+            ChatbotKnowledgeBase entry = entries.get(ordinal);
+            Map<String, Integer> counts = new HashMap<>();
+            for (String term : tokenize(entry.getQuestion())) {
+                counts.merge(term, FIELD_BOOST, Integer::sum);
+            }
+            for (String term : tokenize(entry.getKeywords())) {
+                counts.merge(term, FIELD_BOOST, Integer::sum);
+            }
+            for (String term : tokenize(entry.getAnswer())) {
+                counts.merge(term, 1, Integer::sum);
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                frequencies.computeIfAbsent(count.getKey(), k -> new LinkedHashMap<>()).put(ordinal, count.getValue());
+                length += count.getValue();
+            }
+            lengths[ordinal] = length;
+            totalLength += length;
+        }
+
+        double averageLength = entries.isEmpty() ? 0 : (double) totalLength / entries.size();
+        for (int ordinal = 0; ordinal < lengths.length; ordinal++) {
+            lengthNorms[ordinal] = (float) (K1 * (1 - B + B * lengths[ordinal] / Math.max(averageLength, 1)));
+        }
+
+        int documents = entries.size();
+        this.postings = new HashMap<>(frequencies.size() * 2);
+        frequencies.forEach((term, counts) -> {
+            int[] ordinals = new int[counts.size()];
+            int[] tf = new int[counts.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+                ordinals[i] = count.getKey();
+                tf[i] = count.getValue();
+                i++;
+            }
+            double idf = Math.log(1 + (documents - ordinals.length + 0.5) / (ordinals.length + 0.5));
+            postings.put(term, new Posting(idf, ordinals, tf));
+        });
+    }
+
+    // Best entries first; entries sharing no term with the message are never returned
+    List<ChatbotKnowledgeBase> findRelevant(String message, int limit) {
+        if (limit <= 0 || entries.isEmpty()) {
+            return List.of();
+        }
+
+        double[] scores = new double[entries.size()];
+        BitSet touched = new BitSet(entries.size());
+        for (String term : new LinkedHashSet<>(tokenize(message))) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            for (int i = 0; i < posting.ordinals().length; i++) {
+                int ordinal = posting.ordinals()[i];
+                int tf = posting.frequencies()[i];
+                scores[ordinal] += posting.idf() * tf * (K1 + 1) / (tf + lengthNorms[ordinal]);
+                touched.set(ordinal);
+            }
+        }
+
+        // Min-heap of the best candidates; on equal score the earlier entry wins
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> {
+            int byScore = Double.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(b, a);
+        });
+        for (int ordinal = touched.nextSetBit(0); ordinal >= 0; ordinal = touched.nextSetBit(ordinal + 1)) {
+            top.offer(ordinal);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        ChatbotKnowledgeBase[] ranked = new ChatbotKnowledgeBase[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = entries.get(top.poll());
+        }
+        return List.of(ranked);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (!current.isEmpty()) {
+                String token = current.toString();
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+}
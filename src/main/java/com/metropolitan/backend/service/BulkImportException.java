@@ -0,0 +1,16 @@
+package com.metropolitan.backend.service;
+
+// A database failure part way through a bulk import; the chunks before the failing one stay committed
+public class BulkImportException extends IllegalStateException {
+
+    private final int importedRows;
+
+    public BulkImportException(String message, int importedRows, Throwable cause) {
+        super(message, cause);
+        this.importedRows = importedRows;
+    }
+
+    public int getImportedRows() {
+        return importedRows;
+    }
+}
@@ -0,0 +1,78 @@
+package com.metropolitan.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Admin bulk imports, written chunk by chunk with one transaction per chunk; inside a chunk Hibernate
+// sends the inserts as JDBC batches. All rows are validated before the first chunk goes out, so a bad
+// row rejects the whole import; only a database failure can leave it partly written.
+@Slf4j
+@Component
+public class BulkImporter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public BulkImporter(
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            Validator validator,
+            @Value("${imports.chunk-size:1000}") int chunkSize,
+            @Value("${imports.max-rows:20000}") int maxRows
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    // prepare runs on every row after validation, before anything is written
+    public <T> int importAll(List<T> rows, Consumer<T> prepare) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to import");
+        }
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " rows can be imported at once");
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            Set<ConstraintViolation<T>> violations = validator.validate(rows.get(i));
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException("Row " + (i + 1) + ": " + violations.iterator().next().getMessage());
+            }
+        }
+        rows.forEach(prepare);
+
+        long started = System.nanoTime();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    chunk.forEach(entityManager::persist);
+                    entityManager.flush();
+                    // The request's persistence context outlives the transaction; don't let it hold every row
+                    entityManager.clear();
+                });
+            } catch (RuntimeException e) {
+                throw new BulkImportException("Import failed at row " + (from + 1) + ", " + from
+                        + " rows were imported before it: " + e.getMessage(), from, e);
+            }
+        }
+        log.info("Imported {} {} rows in {} ms", rows.size(), rows.get(0).getClass().getSimpleName(),
+                (System.nanoTime() - started) / 1_000_000);
+        return rows.size();
+    }
+}
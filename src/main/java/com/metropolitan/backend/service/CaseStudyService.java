@@ -1,16 +1,20 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.config.CacheConfig;
+import com.metropolitan.backend.dto.CaseStudySummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.CaseStudy;
 import com.metropolitan.backend.repository.CaseStudyRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -18,54 +22,60 @@ import java.util.Optional;
 public class CaseStudyService {
 
     private final CaseStudyRepository caseStudyRepository;
+    private final ImageStore imageStore;
+    private final BulkImporter bulkImporter;
 
-    public PageResponse<CaseStudy> getCaseStudies(String division, int page, int limit) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+    @Cacheable(cacheNames = CacheConfig.CASE_STUDIES)
+    public PageResponse<CaseStudySummary> getCaseStudies(String division, int page, int limit) {
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        Page<CaseStudy> caseStudyPage;
-        long total;
+        String divisionFilter = division != null && !division.isEmpty() ? division : null;
 
-        if (division != null && !division.isEmpty()) {
-            caseStudyPage = caseStudyRepository.findByDivision(division, pageable);
-            total = caseStudyRepository.countByDivision(division);
-        } else {
-            caseStudyPage = caseStudyRepository.findAll(pageable);
-            total = caseStudyRepository.count();
-        }
-
-        return PageResponse.of(caseStudyPage.getContent(), total, page, limit);
+        return PageResponse.of(caseStudyRepository.findPage(CaseStudyRepository.withFilters(divisionFilter, null, null), pageable, CaseStudySummary.class));
     }
 
-    public PageResponse<CaseStudy> getCaseStudiesWithFilters(
+    public PageResponse<CaseStudySummary> getCaseStudiesWithFilters(
             String division,
             LocalDateTime fromDate,
             LocalDateTime toDate,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        Page<CaseStudy> caseStudyPage = caseStudyRepository.findWithFilters(division, fromDate, toDate, pageable);
-        long total = caseStudyRepository.countWithFilters(division, fromDate, toDate);
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        return PageResponse.of(caseStudyPage.getContent(), total, page, limit);
+        return PageResponse.of(caseStudyRepository.findPage(CaseStudyRepository.withFilters(division, fromDate, toDate), pageable, CaseStudySummary.class));
     }
 
+    @Cacheable(cacheNames = CacheConfig.CASE_STUDY, unless = "#result == null")
     public Optional<CaseStudy> getCaseStudy(Long id) {
         return caseStudyRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CASE_STUDIES, allEntries = true)
     public CaseStudy createCaseStudy(CaseStudy caseStudy) {
+        caseStudy.setImage(imageStore.ingest(caseStudy.getImage()));
         return caseStudyRepository.save(caseStudy);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CASE_STUDIES, allEntries = true)
+    public int importCaseStudies(List<CaseStudy> caseStudies) {
+        return bulkImporter.importAll(caseStudies, caseStudy -> {
+            caseStudy.setId(null);
+            caseStudy.setImage(imageStore.ingest(caseStudy.getImage()));
+        });
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CASE_STUDY, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CASE_STUDIES, allEntries = true)
+    })
     public CaseStudy updateCaseStudy(Long id, CaseStudy caseStudyDetails) {
         CaseStudy caseStudy = caseStudyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Case Study not found with id: " + id));
 
         caseStudy.setTitle(caseStudyDetails.getTitle());
         caseStudy.setDescription(caseStudyDetails.getDescription());
-        caseStudy.setImage(caseStudyDetails.getImage());
+        caseStudy.setImage(imageStore.ingest(caseStudyDetails.getImage()));
         caseStudy.setDivision(caseStudyDetails.getDivision());
         caseStudy.setClient(caseStudyDetails.getClient());
         caseStudy.setLocation(caseStudyDetails.getLocation());
@@ -74,6 +84,10 @@ public class CaseStudyService {
         return caseStudyRepository.save(caseStudy);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CASE_STUDY, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CASE_STUDIES, allEntries = true)
+    })
     public void deleteCaseStudy(Long id) {
         if (!caseStudyRepository.existsById(id)) {
             throw new RuntimeException("Case Study not found with id: " + id);
@@ -0,0 +1,277 @@
+package com.metropolitan.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.metropolitan.backend.dto.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded, TTL-limited cache of Groq answers keyed on the normalized message. Entries remember the
+// knowledge base version they were answered from and are dropped as soon as that version changes.
+// The optional near-duplicate layer also serves questions whose word bigrams are similar enough;
+// candidates come from MinHash LSH buckets, so a lookup never walks the whole cache.
+@Component
+public class ChatAnswerCache {
+
+    // 6 bands of 3 MinHash rows: a pair at Jaccard 0.8 shares a bucket 98.6% of the time, a pair
+    // at 0.3 only 15%. Candidates are then checked against their exact bigram sets.
+    private static final int BANDS = 6;
+    private static final int ROWS = 3;
+    private static final int[] SEEDS = new SplittableRandom(0x5EEDL).ints(BANDS * ROWS).toArray();
+
+    private final int maxSize;
+    private final boolean nearDuplicateEnabled;
+    private final double similarityThreshold;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder nearDuplicateHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private final Cache<String, CachedAnswer> answers;
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+    private record CachedAnswer(ChatResponse response, long version, int[] shingles, long[] bandKeys) {
+    }
+
+    public ChatAnswerCache(
+            @Value("${chatbot.answer-cache.max-size:1000}") int maxSize,
+            @Value("${chatbot.answer-cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${chatbot.answer-cache.near-duplicate.enabled:false}") boolean nearDuplicateEnabled,
+            @Value("${chatbot.answer-cache.near-duplicate.threshold:0.8}") double similarityThreshold
+    ) {
+        this.maxSize = maxSize;
+        this.nearDuplicateEnabled = nearDuplicateEnabled;
+        this.similarityThreshold = similarityThreshold;
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .executor(Runnable::run)
+                .removalListener((String key, CachedAnswer cached, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                    // A replacement has the same key, so the same buckets
+                    if (cause != RemovalCause.REPLACED && key != null && cached != null) {
+                        unindex(key, cached);
+                    }
+                })
+                .build();
+    }
+
+    public ChatResponse get(String message, long version) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = normalize(message);
+
+        CachedAnswer cached = answers.getIfPresent(key);
+        if (cached != null) {
+            if (cached.version() == version) {
+                hits.increment();
+                return cached.response();
+            }
+            answers.asMap().remove(key, cached);
+        }
+
+        if (nearDuplicateEnabled) {
+            ChatResponse similar = findNearDuplicate(key, version);
+            if (similar != null) {
+                nearDuplicateHits.increment();
+                return similar;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    public void put(String message, long version, ChatResponse response) {
+        if (maxSize <= 0) {
+            return;
+        }
+        String key = normalize(message);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        CachedAnswer cached;
+        if (nearDuplicateEnabled) {
+            int[] shingles = shingles(key);
+            cached = new CachedAnswer(response, version, shingles, bandKeys(shingles));
+            for (long bandKey : cached.bandKeys()) {
+                buckets.computeIfAbsent(bandKey, k -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        } else {
+            cached = new CachedAnswer(response, version, null, null);
+        }
+        answers.put(key, cached);
+    }
+
+    public void invalidateAll() {
+        answers.invalidateAll();
+        buckets.clear();
+        invalidations.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long exact = hits.sum();
+        long near = nearDuplicateHits.sum();
+        long missCount = misses.sum();
+        long requests = exact + near + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", answers.estimatedSize());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", exact);
+        stats.put("nearDuplicateHits", near);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests > 0 ? (double) (exact + near) / requests : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("nearDuplicateBuckets", buckets.size());
+        return stats;
+    }
+
+    // Only entries sharing at least one LSH bucket with the message are compared
+    private ChatResponse findNearDuplicate(String key, long version) {
+        int[] shingles = shingles(key);
+        if (shingles.length == 0) {
+            return null;
+        }
+        CachedAnswer best = null;
+        double bestSimilarity = similarityThreshold;
+        Set<String> seen = new HashSet<>();
+
+        for (long bandKey : bandKeys(shingles)) {
+            Set<String> bucket = buckets.get(bandKey);
+            if (bucket == null) {
+                continue;
+            }
+            for (String candidate : bucket) {
+                if (!seen.add(candidate)) {
+                    continue;
+                }
+                CachedAnswer cached = answers.getIfPresent(candidate);
+                if (cached == null || cached.version() != version || cached.shingles() == null) {
+                    continue;
+                }
+                double similarity = jaccard(shingles, cached.shingles());
+                if (similarity >= bestSimilarity) {
+                    bestSimilarity = similarity;
+                    best = cached;
+                }
+            }
+        }
+        return best != null ? best.response() : null;
+    }
+
+    private void unindex(String key, CachedAnswer cached) {
+        if (cached.bandKeys() == null) {
+            return;
+        }
+        for (long bandKey : cached.bandKeys()) {
+            buckets.computeIfPresent(bandKey, (k, bucket) -> {
+                bucket.remove(key);
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+    }
+
+    // Lower case, punctuation dropped, whitespace collapsed: "What divisions do you have?" and
+    // "what divisions do you have" share a key
+    static String normalize(String message) {
+        StringBuilder normalized = new StringBuilder(message.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Sorted, distinct hashes of the word bigrams of a normalized message (the word itself for a
+    // one-word message). Swapping one word changes every bigram it is part of, so "do you install
+    // solar panels" and "do you install wind panels" share 2 of 6 and are not near-duplicates.
+    static int[] shingles(String normalized) {
+        if (normalized.isEmpty()) {
+            return new int[0];
+        }
+        String[] words = normalized.split(" ");
+        if (words.length == 1) {
+            return new int[]{words[0].hashCode()};
+        }
+        int[] hashes = new int[words.length - 1];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = 31 * words[i].hashCode() + words[i + 1].hashCode();
+        }
+        return Arrays.stream(hashes).sorted().distinct().toArray();
+    }
+
+    // MinHash signature cut into BANDS bands; each band's rows hash to one bucket key
+    private static long[] bandKeys(int[] shingles) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            int bandHash = 1;
+            for (int row = 0; row < ROWS; row++) {
+                int seed = SEEDS[band * ROWS + row];
+                int min = Integer.MAX_VALUE;
+                for (int shingle : shingles) {
+                    min = Math.min(min, mix(shingle ^ seed));
+                }
+                bandHash = 31 * bandHash + min;
+            }
+            keys[band] = ((long) band << 32) | (bandHash & 0xFFFFFFFFL);
+        }
+        return keys;
+    }
+
+    // MurmurHash3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - shared;
+        return union == 0 ? 0 : (double) shared / union;
+    }
+}
@@ -3,19 +3,27 @@ package com.metropolitan.backend.service;
 import com.metropolitan.backend.dto.ChatResponse;
 import com.metropolitan.backend.dto.groq.GroqMessage;
 import com.metropolitan.backend.dto.groq.GroqRequest;
-import com.metropolitan.backend.dto.groq.GroqResponse;
 import com.metropolitan.backend.model.ChatbotKnowledgeBase;
 import com.metropolitan.backend.repository.ChatbotKnowledgeBaseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,91 +32,237 @@ import java.util.stream.Collectors;
 public class ChatbotService {
 
     private final ChatbotKnowledgeBaseRepository knowledgeBaseRepository;
-    private final RestTemplate restTemplate;
-
-    @Value("${groq.api.key:}")
-    private String groqApiKey;
+    private final GroqClient groqClient;
+    private final ChatAnswerCache answerCache;
+    private final GroqCircuitBreaker circuitBreaker;
+    private final BulkImporter bulkImporter;
 
     @Value("${groq.api.model:openai/gpt-oss-120b}")
     private String groqModel;
 
-    @Value("${groq.api.base-url:https://api.groq.com/openai/v1}")
-    private String groqBaseUrl;
+    // Hedging: answer from keyword matching when Groq has not replied within the deadline
+    @Value("${chatbot.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${chatbot.hedge.deadline-ms:2500}")
+    private long hedgeDeadlineMs;
+
+    // Number of knowledge base entries sent to Groq once the whole table exceeds the budget; 0 always sends everything
+    @Value("${chatbot.retrieval.top-k:8}")
+    private int retrievalTopK;
+
+    @Value("${chatbot.retrieval.max-prompt-tokens:3000}")
+    private int maxPromptTokens;
+
+    // Rough size of a token for English text, good enough for budgeting
+    private static final int CHARS_PER_TOKEN = 4;
+
+    // Bumped by every admin write; cached artifacts built for an older version are stale
+    private final AtomicLong knowledgeBaseVersion = new AtomicLong();
+    private final SystemPromptCache systemPromptCache = new SystemPromptCache(this::buildSystemPrompt);
+
+    private final LongAdder fullPrompts = new LongAdder();
+    private final LongAdder retrievalPrompts = new LongAdder();
+    private final LongAdder hedgedAnswers = new LongAdder();
+
+    private volatile KnowledgeBaseIndex knowledgeBaseIndex;
 
     public ChatResponse processMessage(String userMessage) {
         if (userMessage == null || userMessage.trim().isEmpty()) {
             return ChatResponse.noMatch();
         }
 
-        List<ChatbotKnowledgeBase> knowledgeBase = knowledgeBaseRepository.findAll();
+        KnowledgeBaseIndex index = getKnowledgeBaseIndex();
 
-        if (groqApiKey != null && !groqApiKey.isBlank()) {
-            return processWithGroq(userMessage, knowledgeBase);
+        if (groqClient.isConfigured()) {
+            ChatResponse cached = answerCache.get(userMessage, index.getVersion());
+            if (cached != null) {
+                return cached;
+            }
+            return processWithGroq(userMessage, index);
         }
 
         // Fallback: keyword scoring when no API key is configured
-        return processWithKeywordMatching(userMessage, knowledgeBase);
+        return processWithKeywordMatching(userMessage, index);
     }
 
-    private ChatResponse processWithGroq(String userMessage, List<ChatbotKnowledgeBase> knowledgeBase) {
-        try {
-            String systemPrompt = buildSystemPrompt(knowledgeBase);
-
-            GroqRequest request = new GroqRequest(
-                groqModel,
-                List.of(
-                    GroqMessage.system(systemPrompt),
-                    GroqMessage.user(userMessage)
-                ),
-                512,
-                0.3
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(groqApiKey);
-
-            HttpEntity<GroqRequest> entity = new HttpEntity<>(request, headers);
-
-            ResponseEntity<GroqResponse> response = restTemplate.exchange(
-                groqBaseUrl + "/chat/completions",
-                HttpMethod.POST,
-                entity,
-                GroqResponse.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                String content = response.getBody().getContent();
-                if (content != null && !content.isBlank()) {
-                    return ChatResponse.of(content.trim(), true);
-                }
+    // Same answer as processMessage, delivered piece by piece through onToken as Groq produces it.
+    // Keyword answers arrive as a single token. The future completes with the full response;
+    // cancelling it stops the Groq stream.
+    public CompletableFuture<ChatResponse> streamMessage(String userMessage, Consumer<String> onToken) {
+        if (userMessage == null || userMessage.trim().isEmpty()) {
+            ChatResponse noMatch = ChatResponse.noMatch();
+            onToken.accept(noMatch.getMessage());
+            return CompletableFuture.completedFuture(noMatch);
+        }
+
+        KnowledgeBaseIndex index = getKnowledgeBaseIndex();
+
+        ChatResponse immediate;
+        if (!groqClient.isConfigured()) {
+            immediate = processWithKeywordMatching(userMessage, index);
+        } else {
+            immediate = answerCache.get(userMessage, index.getVersion());
+            if (immediate == null && !circuitBreaker.tryAcquire()) {
+                immediate = processWithKeywordMatching(userMessage, index);
             }
-        } catch (Exception e) {
-            log.error("Groq API call failed: {}", e.getMessage());
+        }
+        if (immediate != null) {
+            onToken.accept(immediate.getMessage());
+            return CompletableFuture.completedFuture(immediate);
+        }
+
+        long start = System.nanoTime();
+        AtomicLong firstTokenNanos = new AtomicLong();
+        AtomicBoolean clientGone = new AtomicBoolean();
+        StringBuilder answer = new StringBuilder();
+        CompletableFuture<Void> upstream = callGroq(() -> groqClient.streamCompletion(buildGroqRequest(userMessage, index), token -> {
+            firstTokenNanos.compareAndSet(0, System.nanoTime() - start);
+            answer.append(token);
+            try {
+                onToken.accept(token);
+            } catch (RuntimeException e) {
+                clientGone.set(true);
+                throw e;
+            }
+        }));
+        // Settled on the Groq future itself: handlers chained behind a cancelled result never run, and
+        // a permit left unsettled would keep a half-open circuit from ever letting another call through.
+        // Streams are judged on time to first token; a long answer or a client that hung up is not
+        // Groq's fault, and a stream cancelled before its first token says nothing about Groq at all.
+        upstream.whenComplete((ignored, error) -> {
+            boolean abandoned = clientGone.get() || upstream.isCancelled();
+            if (!answer.isEmpty() && (error == null || abandoned)) {
+                circuitBreaker.onSuccess(firstTokenNanos.get());
+            } else if (abandoned) {
+                circuitBreaker.release();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        });
+        CompletableFuture<ChatResponse> result = upstream.handle((ignored, error) -> {
+            if (error == null && !answer.toString().isBlank()) {
+                ChatResponse response = ChatResponse.of(answer.toString().trim(), true);
+                answerCache.put(userMessage, index.getVersion(), response);
+                return response;
+            }
+            if (error != null) {
+                log.error("Groq streaming call failed: {}", error.getMessage());
+            }
+            if (!answer.isEmpty()) {
+                // Part of the answer already reached the client; keep it rather than mixing in another
+                return ChatResponse.of(answer.toString().trim(), true);
+            }
+            // Fall back to keyword matching when Groq produced nothing
+            ChatResponse fallback = processWithKeywordMatching(userMessage, index);
+            onToken.accept(fallback.getMessage());
+            return fallback;
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private ChatResponse processWithGroq(String userMessage, KnowledgeBaseIndex index) {
+        // Open circuit: Groq has been failing, answer locally without waiting on it
+        if (!circuitBreaker.tryAcquire()) {
+            return processWithKeywordMatching(userMessage, index);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<ChatResponse> groqAnswer = callGroq(() -> groqClient.completeAsync(buildGroqRequest(userMessage, index)))
+                .handle((content, error) -> {
+                    if (error != null || content == null || content.isBlank()) {
+                        circuitBreaker.onFailure();
+                        if (error != null) {
+                            log.error("Groq API call failed: {}", error.getMessage());
+                        }
+                        return null;
+                    }
+                    circuitBreaker.onSuccess(System.nanoTime() - start);
+                    ChatResponse response = ChatResponse.of(content.trim(), true);
+                    answerCache.put(userMessage, index.getVersion(), response);
+                    return response;
+                });
+
+        ChatResponse answer = hedgeEnabled ? awaitHedged(groqAnswer, userMessage, index) : groqAnswer.join();
+        if (answer != null) {
+            return answer;
         }
 
         // Fall back to keyword matching on Groq failure
-        return processWithKeywordMatching(userMessage, knowledgeBase);
+        return processWithKeywordMatching(userMessage, index);
+    }
+
+    // The breaker permit is settled in the future's handler, so a call that throws before it is under
+    // way (building the prompt, sending the request) must fail the future rather than escape. A
+    // half-open probe would otherwise stay in flight and keep the circuit from ever closing.
+    private static <T> CompletableFuture<T> callGroq(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Keyword matching runs while Groq is in flight. If Groq misses the hedge deadline and the keyword
+    // answer is a real match, that answer goes out; a late Groq answer still lands in the answer cache.
+    private ChatResponse awaitHedged(CompletableFuture<ChatResponse> groqAnswer, String userMessage, KnowledgeBaseIndex index) {
+        ChatResponse keywordAnswer = processWithKeywordMatching(userMessage, index);
+        if (!keywordAnswer.isMatched()) {
+            return groqAnswer.join();
+        }
+        try {
+            return groqAnswer.get(hedgeDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hedgedAnswers.increment();
+            return keywordAnswer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return keywordAnswer;
+        } catch (ExecutionException e) {
+            return keywordAnswer;
+        }
+    }
+
+    private GroqRequest buildGroqRequest(String userMessage, KnowledgeBaseIndex index) {
+        String systemPrompt = selectSystemPrompt(userMessage, index);
+
+        return new GroqRequest(
+            groqModel,
+            List.of(
+                GroqMessage.system(systemPrompt),
+                GroqMessage.user(userMessage)
+            ),
+            512,
+            0.3,
+            false
+        );
     }
 
-    private String buildSystemPrompt(List<ChatbotKnowledgeBase> knowledgeBase) {
+    // Small knowledge bases go out whole from the prompt cache; once the whole table would blow the
+    // token budget only the entries most relevant to this message are sent
+    private String selectSystemPrompt(String userMessage, KnowledgeBaseIndex index) {
+        if (retrievalTopK <= 0 || index.getTextLength() / CHARS_PER_TOKEN <= maxPromptTokens) {
+            fullPrompts.increment();
+            return systemPromptCache.get(index);
+        }
+        retrievalPrompts.increment();
+        return buildRetrievalPrompt(index.findRelevant(userMessage, retrievalTopK));
+    }
+
+    // Package-private, like buildRetrievalPrompt, for the JMH benchmarks
+    String buildSystemPrompt(List<ChatbotKnowledgeBase> knowledgeBase) {
         StringBuilder prompt = new StringBuilder();
-        prompt.append("You are a helpful virtual assistant for Metropolitan, a leading company specializing in HVAC (central air conditioning), elevators & travelators, fire detection & protection, generators, solar energy, and ELV systems.\n\n");
-        prompt.append("Answer customer questions based ONLY on the knowledge base below. ");
-        prompt.append("If the question cannot be answered from the knowledge base, politely say you don't have that information and suggest the customer contact Metropolitan directly via the Contact page.\n\n");
-        prompt.append("Keep answers concise, friendly, and professional.\n\n");
+        appendInstructions(prompt);
 
         if (!knowledgeBase.isEmpty()) {
             prompt.append("KNOWLEDGE BASE:\n");
             prompt.append("==============\n");
-            knowledgeBase.forEach(entry -> {
-                prompt.append("Q: ").append(entry.getQuestion()).append("\n");
-                prompt.append("A: ").append(entry.getAnswer()).append("\n");
-                if (entry.getKeywords() != null && !entry.getKeywords().isBlank()) {
-                    prompt.append("Keywords: ").append(entry.getKeywords()).append("\n");
-                }
-                prompt.append("\n");
-            });
+            knowledgeBase.forEach(entry -> appendEntry(prompt, entry));
         } else {
             prompt.append("The knowledge base is currently empty. Tell the user you are still being set up and they should contact Metropolitan directly for assistance.\n");
         }
@@ -116,65 +270,97 @@ public class ChatbotService {
         return prompt.toString();
     }
 
-    private ChatResponse processWithKeywordMatching(String userMessage, List<ChatbotKnowledgeBase> allEntries) {
-        if (allEntries.isEmpty()) {
-            return ChatResponse.noMatch();
+    String buildRetrievalPrompt(List<ChatbotKnowledgeBase> relevantEntries) {
+        StringBuilder prompt = new StringBuilder();
+        appendInstructions(prompt);
+        prompt.append("KNOWLEDGE BASE (entries relevant to this question):\n");
+        prompt.append("==============\n");
+
+        if (relevantEntries.isEmpty()) {
+            prompt.append("No entries match this question.\n");
+            return prompt.toString();
         }
 
-        String normalizedMessage = userMessage.toLowerCase().trim();
-        String[] messageWords = normalizedMessage.split("\\s+");
+        // The best entry always goes in; the rest only while they fit the token budget
+        long budget = (long) maxPromptTokens * CHARS_PER_TOKEN;
+        for (int i = 0; i < relevantEntries.size(); i++) {
+            int mark = prompt.length();
+            appendEntry(prompt, relevantEntries.get(i));
+            if (i > 0 && prompt.length() > budget) {
+                prompt.setLength(mark);
+                break;
+            }
+        }
 
-        ChatbotKnowledgeBase bestMatch = null;
-        int bestScore = 0;
+        return prompt.toString();
+    }
 
-        for (ChatbotKnowledgeBase entry : allEntries) {
-            int score = calculateScore(normalizedMessage, messageWords, entry);
-            if (score > bestScore) {
-                bestScore = score;
-                bestMatch = entry;
-            }
+    private static void appendInstructions(StringBuilder prompt) {
+        prompt.append("You are a helpful virtual assistant for Metropolitan, a leading company specializing in HVAC (central air conditioning), elevators & travelators, fire detection & protection, generators, solar energy, and ELV systems.\n\n");
+        prompt.append("Answer customer questions based ONLY on the knowledge base below. ");
+        prompt.append("If the question cannot be answered from the knowledge base, politely say you don't have that information and suggest the customer contact Metropolitan directly via the Contact page.\n\n");
+        prompt.append("Keep answers concise, friendly, and professional.\n\n");
+    }
+
+    private static void appendEntry(StringBuilder prompt, ChatbotKnowledgeBase entry) {
+        prompt.append("Q: ").append(entry.getQuestion()).append("\n");
+        prompt.append("A: ").append(entry.getAnswer()).append("\n");
+        if (entry.getKeywords() != null && !entry.getKeywords().isBlank()) {
+            prompt.append("Keywords: ").append(entry.getKeywords()).append("\n");
         }
+        prompt.append("\n");
+    }
 
-        if (bestScore >= 1 && bestMatch != null) {
+    private ChatResponse processWithKeywordMatching(String userMessage, KnowledgeBaseIndex index) {
+        ChatbotKnowledgeBase bestMatch = index.findBestMatch(userMessage);
+
+        if (bestMatch != null) {
             return ChatResponse.of(bestMatch.getAnswer(), true);
         }
 
         return ChatResponse.noMatch();
     }
 
-    private int calculateScore(String normalizedMessage, String[] messageWords, ChatbotKnowledgeBase entry) {
-        int score = 0;
-        String normalizedQuestion = entry.getQuestion().toLowerCase();
-
-        if (normalizedQuestion.equals(normalizedMessage)) {
-            score += 10;
-        } else if (normalizedMessage.contains(normalizedQuestion) || normalizedQuestion.contains(normalizedMessage)) {
-            score += 5;
-        }
-
-        String[] questionWords = normalizedQuestion.split("\\s+");
-        for (String word : messageWords) {
-            if (word.length() > 2) {
-                for (String questionWord : questionWords) {
-                    if (questionWord.equals(word)) {
-                        score += 2;
-                    } else if (questionWord.contains(word) || word.contains(questionWord)) {
-                        score += 1;
-                    }
+    private KnowledgeBaseIndex getKnowledgeBaseIndex() {
+        KnowledgeBaseIndex index = knowledgeBaseIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = knowledgeBaseIndex;
+                if (index == null) {
+                    index = rebuildIndex();
                 }
             }
         }
+        return index;
+    }
 
-        if (entry.getKeywords() != null && !entry.getKeywords().isEmpty()) {
-            String[] keywords = entry.getKeywords().toLowerCase().split("[,\\s]+");
-            for (String keyword : keywords) {
-                if (!keyword.isEmpty() && keyword.length() > 2 && normalizedMessage.contains(keyword)) {
-                    score += 3;
-                }
-            }
-        }
+    // Swaps in a freshly built index; readers keep using the old one until the swap
+    private synchronized KnowledgeBaseIndex rebuildIndex() {
+        long version = knowledgeBaseVersion.get();
+        KnowledgeBaseIndex index = KnowledgeBaseIndex.build(knowledgeBaseRepository.findAll(), version);
+        knowledgeBaseIndex = index;
+        return index;
+    }
+
+    private void knowledgeBaseChanged() {
+        knowledgeBaseVersion.incrementAndGet();
+        answerCache.invalidateAll();
+        rebuildIndex();
+    }
 
-        return score;
+    public Map<String, Object> getStats() {
+        KnowledgeBaseIndex index = knowledgeBaseIndex;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("knowledgeBaseVersion", knowledgeBaseVersion.get());
+        stats.put("indexedEntries", index != null ? index.size() : 0);
+        stats.put("systemPrompt", systemPromptCache.getStats());
+        stats.put("fullPrompts", fullPrompts.sum());
+        stats.put("retrievalPrompts", retrievalPrompts.sum());
+        stats.put("answerCache", answerCache.getStats());
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+        stats.put("hedgedAnswers", hedgedAnswers.sum());
+        return stats;
     }
 
     // CRUD operations for admin
@@ -187,7 +373,25 @@ public class ChatbotService {
     }
 
     public ChatbotKnowledgeBase createEntry(ChatbotKnowledgeBase entry) {
-        return knowledgeBaseRepository.save(entry);
+        ChatbotKnowledgeBase saved = knowledgeBaseRepository.save(entry);
+        knowledgeBaseChanged();
+        return saved;
+    }
+
+    // The index is rebuilt once for the whole import, and after a failed one only if some chunks
+    // were committed before the failure; a rejected import changed nothing
+    public int importEntries(List<ChatbotKnowledgeBase> entries) {
+        int imported;
+        try {
+            imported = bulkImporter.importAll(entries, entry -> entry.setId(null));
+        } catch (BulkImportException e) {
+            if (e.getImportedRows() > 0) {
+                knowledgeBaseChanged();
+            }
+            throw e;
+        }
+        knowledgeBaseChanged();
+        return imported;
     }
 
     public ChatbotKnowledgeBase updateEntry(Long id, ChatbotKnowledgeBase details) {
@@ -199,7 +403,9 @@ public class ChatbotService {
         entry.setCategory(details.getCategory());
         entry.setKeywords(details.getKeywords());
 
-        return knowledgeBaseRepository.save(entry);
+        ChatbotKnowledgeBase saved = knowledgeBaseRepository.save(entry);
+        knowledgeBaseChanged();
+        return saved;
     }
 
     public void deleteEntry(Long id) {
@@ -207,6 +413,7 @@ public class ChatbotService {
             throw new RuntimeException("Knowledge base entry not found with id: " + id);
         }
         knowledgeBaseRepository.deleteById(id);
+        knowledgeBaseChanged();
     }
 
     public List<String> getCategories() {
@@ -0,0 +1,53 @@
+package com.metropolitan.backend.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ContentCacheService {
+
+    private final CacheManager cacheManager;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ContentVersions contentVersions;
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+
+                Map<String, Object> cacheInfo = new LinkedHashMap<>();
+                cacheInfo.put("size", nativeCache.estimatedSize());
+                cacheInfo.put("hits", cacheStats.hitCount());
+                cacheInfo.put("misses", cacheStats.missCount());
+                cacheInfo.put("hitRate", cacheStats.hitRate());
+                cacheInfo.put("evictions", cacheStats.evictionCount());
+                stats.put(name, cacheInfo);
+            }
+        }
+        stats.put("verifiedTokens", verifiedTokenCache.getStats());
+        return stats;
+    }
+
+    // For content or admin users changed outside the API, e.g. directly in the database
+    public void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        verifiedTokenCache.invalidateAll();
+        contentVersions.bumpAll();
+    }
+}
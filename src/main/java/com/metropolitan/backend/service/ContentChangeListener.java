@@ -0,0 +1,52 @@
+package com.metropolitan.backend.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// JPA entity listener for the public content entities. The version moves once the change is
+// committed, so a request in between cannot tag the old rows with the new version. A transaction
+// moves each content type's version once, however many rows it wrote (bulk imports write thousands).
+@Component
+@RequiredArgsConstructor
+public class ContentChangeListener {
+
+    private final ContentVersions contentVersions;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void contentChanged(Object entity) {
+        Class<?> contentType = entity.getClass();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            contentVersions.bump(contentType);
+            return;
+        }
+        changedInTransaction().add(contentType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Class<?>> changedInTransaction() {
+        Set<Class<?>> changed = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        if (changed != null) {
+            return changed;
+        }
+        Set<Class<?>> contentTypes = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, contentTypes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ContentChangeListener.this);
+                contentTypes.forEach(contentVersions::bump);
+            }
+        });
+        return contentTypes;
+    }
+}
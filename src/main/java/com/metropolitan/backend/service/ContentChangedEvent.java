@@ -0,0 +1,5 @@
+package com.metropolitan.backend.service;
+
+// Published once a change to a public content entity is committed and its version has moved
+public record ContentChangedEvent(Class<?> contentType) {
+}
@@ -0,0 +1,246 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.config.CacheConfig;
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.model.Division;
+import com.metropolitan.backend.model.JobPosition;
+import com.metropolitan.backend.model.News;
+import com.metropolitan.backend.model.Testimonial;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// The public list responses the site asks for most (each division's first pages, the latest news, the
+// active job positions), rendered to JSON and gzip bytes whenever their content changes. A snapshot is
+// only served while its version is current; anything else, or a stale snapshot, goes down the live path.
+@Slf4j
+@Service
+public class ContentSnapshots {
+
+    private final ContentVersions contentVersions;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final Map<Class<?>, Map<String, Supplier<Object>>> definitions = new LinkedHashMap<>();
+    private final Map<Class<?>, String> listCaches = Map.of(
+            CaseStudy.class, CacheConfig.CASE_STUDIES,
+            News.class, CacheConfig.NEWS,
+            Testimonial.class, CacheConfig.TESTIMONIALS,
+            JobPosition.class, CacheConfig.JOB_POSITIONS);
+    private final Map<Class<?>, Map<String, Snapshot>> snapshots = new ConcurrentHashMap<>();
+    private final Set<Class<?>> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContentSnapshots(
+            ContentVersions contentVersions,
+            CacheManager cacheManager,
+            ObjectMapper objectMapper,
+            CaseStudyService caseStudyService,
+            NewsService newsService,
+            TestimonialService testimonialService,
+            JobPositionService jobPositionService,
+            @Value("${snapshots.enabled:true}") boolean enabled,
+            @Value("${snapshots.pages:3}") int pages,
+            @Value("${snapshots.page-size:10}") int pageSize
+    ) {
+        this.contentVersions = contentVersions;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+
+        List<String> divisions = new ArrayList<>();
+        divisions.add(null);
+        for (Division division : Division.values()) {
+            divisions.add(division.getDisplayName());
+        }
+
+        for (int page = 1; page <= pages; page++) {
+            int p = page;
+            for (String division : divisions) {
+                define(CaseStudy.class, key("case-studies", division, p, pageSize),
+                        () -> caseStudyService.getCaseStudies(division, p, pageSize));
+                define(Testimonial.class, key("testimonials", division, p, pageSize),
+                        () -> testimonialService.getTestimonials(division, p, pageSize));
+            }
+            define(News.class, key("news", p, pageSize), () -> newsService.getNews(p, pageSize));
+            define(JobPosition.class, key("job-positions", p, pageSize),
+                    () -> jobPositionService.getActiveJobPositionsPaginated(p, pageSize));
+        }
+        for (String division : divisions) {
+            define(Testimonial.class, key("testimonials", division), () -> testimonialService.getTestimonialsNonPaginated(division));
+        }
+        define(JobPosition.class, key("job-positions"), jobPositionService::getActiveJobPositions);
+    }
+
+    public record Snapshot(long version, byte[] json, byte[] gzip) {
+
+        public ResponseEntity<byte[]> toResponse(WebRequest request) {
+            boolean gzipAccepted = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzipAccepted) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(json);
+        }
+    }
+
+    // Whether an Accept-Encoding header allows gzip: listed as gzip or x-gzip with a q-value above 0,
+    // or not listed while "*" is. "gzip;q=0" refuses it, as does a q-value that does not parse.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                    quality = qValue(parameter.substring(2).trim());
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    private static double qValue(String value) {
+        try {
+            double quality = Double.parseDouble(value);
+            return quality >= 0 && quality <= 1 ? quality : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Request parameters in the order the controller passes them; null and blank are the same
+    public static String key(String endpoint, Object... parameters) {
+        StringBuilder key = new StringBuilder(endpoint);
+        for (Object parameter : parameters) {
+            key.append('|').append(parameter != null ? parameter : "");
+        }
+        return key.toString();
+    }
+
+    public Optional<Snapshot> find(Class<?> contentType, String key) {
+        Map<String, Snapshot> current = snapshots.get(contentType);
+        Snapshot snapshot = current != null ? current.get(key) : null;
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        if (snapshot.version() != contentVersions.current(contentType)) {
+            schedule(contentType);
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderAll() {
+        definitions.keySet().forEach(this::schedule);
+    }
+
+    @EventListener
+    public void contentChanged(ContentChangedEvent event) {
+        schedule(event.contentType());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderer.shutdownNow();
+    }
+
+    // Changes that arrive while a render is queued are folded into it
+    private void schedule(Class<?> contentType) {
+        if (enabled && definitions.containsKey(contentType) && pending.add(contentType)) {
+            renderer.execute(() -> {
+                pending.remove(contentType);
+                render(contentType);
+            });
+        }
+    }
+
+    private void render(Class<?> contentType) {
+        long version = contentVersions.current(contentType);
+        // The services' own evictions run after the commit that moved the version; clear first so
+        // the render cannot pick up a list cached before the change
+        Cache listCache = cacheManager.getCache(listCaches.get(contentType));
+        if (listCache != null) {
+            listCache.clear();
+        }
+
+        long started = System.nanoTime();
+        Map<String, Snapshot> rendered = new HashMap<>();
+        try {
+            for (Map.Entry<String, Supplier<Object>> definition : definitions.get(contentType).entrySet()) {
+                byte[] json = objectMapper.writeValueAsBytes(definition.getValue().get());
+                rendered.put(definition.getKey(), new Snapshot(version, json, gzip(json)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not render {} snapshots, serving them live", contentType.getSimpleName(), e);
+            snapshots.remove(contentType);
+            return;
+        }
+        snapshots.put(contentType, rendered);
+        log.info("Rendered {} {} snapshots in {} ms", rendered.size(), contentType.getSimpleName(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void define(Class<?> contentType, String key, Supplier<Object> payload) {
+        definitions.computeIfAbsent(contentType, type -> new LinkedHashMap<>()).put(key, payload);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
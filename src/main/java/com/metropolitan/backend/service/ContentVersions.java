@@ -0,0 +1,67 @@
+package com.metropolitan.backend.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-entity change counters behind the public content ETags. A version is the time of the last
+// committed change in whole seconds (kept strictly increasing), so it doubles as Last-Modified, which
+// has no finer precision. Versions start at boot time because changes made while the app was down are unknown.
+//
+// Versions live in this instance's memory and only move on writes it makes: JPA writes through
+// ContentChangeListener, JDBC writes (ImageBackfill) by calling bump() themselves, and anything else
+// through the admin cache clear. The app must therefore run as a single instance; a second one would
+// keep answering 304 for content the first one changed. Edits made directly in the database need a
+// cache clear (DELETE /api/admin/cache) to show up.
+@Component
+@RequiredArgsConstructor
+public class ContentVersions {
+
+    // Caches may keep a copy but must revalidate it; the check below is answered without a query
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long startedAt = wholeSeconds(System.currentTimeMillis());
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(Class<?> contentType) {
+        return counter(contentType).get();
+    }
+
+    public void bump(Class<?> contentType) {
+        counter(contentType).accumulateAndGet(wholeSeconds(System.currentTimeMillis()), (previous, now) -> Math.max(previous + 1000, now));
+        eventPublisher.publishEvent(new ContentChangedEvent(contentType));
+    }
+
+    public void bumpAll() {
+        versions.keySet().forEach(this::bump);
+    }
+
+    // Read the version before loading the content: a change committed in between then only costs a 200
+    public boolean checkNotModified(Class<?> contentType, ServletWebRequest request) {
+        long version = current(contentType);
+        String etag = "W/\"" + contentType.getSimpleName().toLowerCase(Locale.ROOT) + "-" + version + "\"";
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag, version);
+    }
+
+    private static long wholeSeconds(long millis) {
+        return millis - millis % 1000;
+    }
+
+    private AtomicLong counter(Class<?> contentType) {
+        return versions.computeIfAbsent(contentType, type -> new AtomicLong(startedAt));
+    }
+}
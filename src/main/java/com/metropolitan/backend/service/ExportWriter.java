@@ -0,0 +1,151 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes admin exports row by row as they come off the database cursor, so an export of any size
+// holds one row and the output buffer in memory
+@Component
+public class ExportWriter {
+
+    private final ObjectMapper objectMapper;
+    @Getter
+    private final int fetchSize;
+
+    public ExportWriter(
+            ObjectMapper objectMapper,
+            @Value("${exports.fetch-size:1000}") int fetchSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Getter
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    public record Column<R>(String name, Function<R, Object> value) {
+    }
+
+    public <R> void write(Stream<R> rows, List<Column<R>> columns, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writeCsv(rows.iterator(), columns, writer);
+        } else {
+            writeNdjson(rows.iterator(), columns, writer);
+        }
+        writer.flush();
+    }
+
+    private static <R> void writeCsv(Iterator<R> rows, List<Column<R>> columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            R row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writeCsvField(value, writer);
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    // RFC 4180 quoting. Text that a spreadsheet would run as a formula (public inquiries are typed by
+    // anyone) gets a leading apostrophe.
+    private static void writeCsvField(Object value, Writer writer) throws IOException {
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private <R> void writeNdjson(Iterator<R> rows, List<Column<R>> columns, Writer writer) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // One object per line; the default separator would also put a space before each
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                R row = rows.next();
+                generator.writeStartObject();
+                for (Column<R> column : columns) {
+                    writeJsonField(generator, column.name(), column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    // Plain values are written directly; going through the ObjectMapper for every field costs a
+    // serializer lookup each time, which is most of the work on a large export
+    private static void writeJsonField(JsonGenerator generator, String name, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else if (value instanceof String text) {
+            generator.writeStringField(name, text);
+        } else if (value instanceof Long number) {
+            generator.writeNumberField(name, number);
+        } else if (value instanceof Boolean flag) {
+            generator.writeBooleanField(name, flag);
+        } else {
+            generator.writeObjectField(name, value);
+        }
+    }
+}
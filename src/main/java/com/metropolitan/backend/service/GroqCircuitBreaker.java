@@ -0,0 +1,131 @@
+package com.metropolitan.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Stops calling Groq after a run of failed or too-slow calls so chat requests fail over to keyword
+// matching at once instead of waiting out timeouts. After the open period a single probe call is let
+// through; its outcome closes the circuit again or re-opens it.
+@Slf4j
+@Component
+public class GroqCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @Value("${chatbot.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${chatbot.circuit-breaker.slow-call-ms:10000}")
+    private long slowCallMs;
+
+    @Value("${chatbot.circuit-breaker.open-ms:30000}")
+    private long openMs;
+
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private volatile Instant lastTransition;
+
+    private final Map<String, LongAdder> transitions = new LinkedHashMap<>();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public GroqCircuitBreaker() {
+        for (String transition : new String[]{"CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED", "HALF_OPEN->OPEN"}) {
+            transitions.put(transition, new LongAdder());
+        }
+    }
+
+    // Every permitted call must be followed by onSuccess, onFailure or release
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED || (state == State.HALF_OPEN && !probeInFlight)) {
+                probeInFlight = state == State.HALF_OPEN;
+                return true;
+            }
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    public void onSuccess(long elapsedNanos) {
+        if (TimeUnit.NANOSECONDS.toMillis(elapsedNanos) > slowCallMs) {
+            // Answered, but outside the latency SLO
+            onFailure();
+            return;
+        }
+        synchronized (this) {
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN) {
+                probeInFlight = false;
+                transitionTo(State.CLOSED);
+            }
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            open();
+        } else if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    // Returns the permit of a call abandoned before Groq could be judged, such as a stream whose
+    // client went away before the first token. Nothing is counted; a half-open probe is freed so the
+    // next call can probe instead.
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("state", state);
+            stats.put("consecutiveFailures", consecutiveFailures);
+        }
+        stats.put("lastTransition", lastTransition);
+        stats.put("rejectedCalls", rejectedCalls.sum());
+        Map<String, Long> counts = new LinkedHashMap<>();
+        transitions.forEach((transition, count) -> counts.put(transition, count.sum()));
+        stats.put("transitions", counts);
+        return stats;
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        if (state == next) {
+            return;
+        }
+        String transition = state + "->" + next;
+        transitions.get(transition).increment();
+        log.warn("Groq circuit breaker {} (consecutive failures: {})", transition, consecutiveFailures);
+        state = next;
+        lastTransition = Instant.now();
+    }
+}
@@ -0,0 +1,272 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.dto.groq.GroqRequest;
+import com.metropolitan.backend.dto.groq.GroqResponse;
+import com.metropolitan.backend.dto.groq.GroqStreamChunk;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@RequiredArgsConstructor
+public class GroqClient {
+
+    private static final String STREAM_DATA_PREFIX = "data:";
+    private static final String STREAM_DONE = "[DONE]";
+
+    private final HttpClient groqHttpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${groq.api.key:}")
+    private String groqApiKey;
+
+    @Value("${groq.api.base-url:https://api.groq.com/openai/v1}")
+    private String groqBaseUrl;
+
+    @Value("${groq.http.request-timeout-ms:30000}")
+    private long requestTimeoutMs;
+
+    // Longest gap between two reads of a streamed answer, and longest a whole stream may run
+    @Value("${groq.http.stream-idle-timeout-ms:15000}")
+    private long streamIdleTimeoutMs;
+
+    @Value("${groq.http.stream-timeout-ms:60000}")
+    private long streamTimeoutMs;
+
+    public boolean isConfigured() {
+        return groqApiKey != null && !groqApiKey.isBlank();
+    }
+
+    // Completion text, or null when Groq answered without content. The future fails once the
+    // configured request timeout has passed, connection setup and body included.
+    public CompletableFuture<String> completeAsync(GroqRequest request) {
+        request.setStream(false);
+
+        HttpRequest httpRequest;
+        try {
+            httpRequest = newRequest(request)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return groqHttpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("Groq returned HTTP " + response.statusCode());
+                    }
+                    try {
+                        return objectMapper.readValue(decode(response), GroqResponse.class).getContent();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private HttpRequest.Builder newRequest(GroqRequest request) throws IOException {
+        return HttpRequest.newBuilder(URI.create(groqBaseUrl + "/chat/completions"))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + groqApiKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)));
+    }
+
+    private static InputStream decode(HttpResponse<byte[]> response) throws IOException {
+        InputStream body = new ByteArrayInputStream(response.body());
+        boolean gzipped = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        return gzipped ? new GZIPInputStream(body) : body;
+    }
+
+    // Streams the completion without holding a thread while waiting on Groq. Each content delta
+    // is handed to onDelta on the HTTP client's executor; the future completes when the stream ends.
+    // The request timeout bounds the wait for the response headers, the idle timeout each wait for
+    // more of the body and the stream timeout the whole call. Cancelling the future, or any of these
+    // deadlines passing, stops the read and closes the stream.
+    public CompletableFuture<Void> streamCompletion(GroqRequest request, Consumer<String> onDelta) {
+        request.setStream(true);
+
+        HttpRequest httpRequest;
+        try {
+            httpRequest = newRequest(request)
+                    .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        StreamBodySubscriber subscriber = new StreamBodySubscriber(onDelta);
+        HttpResponse.BodyHandler<Void> handler = info -> info.statusCode() / 100 == 2
+                ? subscriber
+                : HttpResponse.BodySubscribers.replacing(null);
+
+        CompletableFuture<HttpResponse<Void>> exchange = groqHttpClient.sendAsync(httpRequest, handler);
+        CompletableFuture<Void> stream = exchange
+                .thenAccept(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("Groq returned HTTP " + response.statusCode());
+                    }
+                })
+                .orTimeout(streamTimeoutMs, TimeUnit.MILLISECONDS);
+        stream.whenComplete((ignored, error) -> {
+            if (error != null) {
+                subscriber.abort(error);
+                exchange.cancel(true);
+            }
+        });
+        return stream;
+    }
+
+    // Splits the response body into server-sent event lines and hands each content delta on.
+    // Completes its own future so a cancelled stream never leaves the caller waiting.
+    private class StreamBodySubscriber implements HttpResponse.BodySubscriber<Void> {
+
+        private final Consumer<String> onDelta;
+        private final CompletableFuture<Void> body = new CompletableFuture<>();
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private volatile Flow.Subscription subscription;
+        private volatile long lastRead;
+
+        StreamBodySubscriber(Consumer<String> onDelta) {
+            this.onDelta = onDelta;
+        }
+
+        @Override
+        public CompletionStage<Void> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (body.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            lastRead = System.nanoTime();
+            scheduleIdleCheck(streamIdleTimeoutMs);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (body.isDone()) {
+                return;
+            }
+            lastRead = System.nanoTime();
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    while (buffer.hasRemaining()) {
+                        byte b = buffer.get();
+                        if (b == '\n') {
+                            boolean done = handleLine(line.toString(StandardCharsets.UTF_8));
+                            line.reset();
+                            if (done) {
+                                // [DONE] ends the completion even if the connection stays open
+                                subscription.cancel();
+                                body.complete(null);
+                                return;
+                            }
+                        } else if (b != '\r') {
+                            line.write(b);
+                        }
+                    }
+                }
+                subscription.request(1);
+            } catch (Exception e) {
+                // Malformed chunk or the downstream client went away; stop reading from Groq
+                subscription.cancel();
+                body.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                if (line.size() > 0) {
+                    handleLine(line.toString(StandardCharsets.UTF_8));
+                }
+                body.complete(null);
+            } catch (Exception e) {
+                body.completeExceptionally(e);
+            }
+        }
+
+        // Ends the read from outside: the caller gave up or a deadline passed
+        void abort(Throwable cause) {
+            if (body.completeExceptionally(cause)) {
+                Flow.Subscription current = subscription;
+                if (current != null) {
+                    current.cancel();
+                }
+            }
+        }
+
+        // One pending check per stream, pushed back by however long ago the last read was
+        private void scheduleIdleCheck(long delayMs) {
+            CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(() -> {
+                if (body.isDone()) {
+                    return;
+                }
+                long idleMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRead);
+                if (idleMs >= streamIdleTimeoutMs) {
+                    abort(new HttpTimeoutException("No data from Groq for " + idleMs + " ms"));
+                } else {
+                    scheduleIdleCheck(streamIdleTimeoutMs - idleMs);
+                }
+            });
+        }
+
+        // True once the [DONE] terminator has been read
+        private boolean handleLine(String text) throws IOException {
+            if (!text.startsWith(STREAM_DATA_PREFIX)) {
+                return false;
+            }
+            String data = text.substring(STREAM_DATA_PREFIX.length()).trim();
+            if (data.equals(STREAM_DONE)) {
+                return true;
+            }
+            if (data.isEmpty()) {
+                return false;
+            }
+            String content = objectMapper.readValue(data, GroqStreamChunk.class).getContent();
+            if (content != null && !content.isEmpty()) {
+                onDelta.accept(content);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.CaseStudy;
+import com.metropolitan.backend.model.JobPosition;
+import com.metropolitan.backend.model.News;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+// One-off conversion of data-URI images saved before the image store existed. Off by default: the
+// rows end up pointing at files under images.storage-dir, so it also waits for images.persistent-storage.
+@Slf4j
+@Component
+public class ImageBackfill implements ApplicationRunner {
+
+    private static final Map<String, Class<?>> TABLES = Map.of(
+            "case_studies", CaseStudy.class,
+            "news", News.class,
+            "job_positions", JobPosition.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageStore imageStore;
+    private final ContentVersions contentVersions;
+    private final boolean enabled;
+
+    public ImageBackfill(
+            DataSource dataSource,
+            ImageStore imageStore,
+            ContentVersions contentVersions,
+            @Value("${images.backfill-on-startup:false}") boolean enabled
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.imageStore = imageStore;
+        this.contentVersions = contentVersions;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!imageStore.isEnabled()) {
+            log.warn("Image backfill skipped: images.persistent-storage is not set");
+            return;
+        }
+        for (Map.Entry<String, Class<?>> entry : TABLES.entrySet()) {
+            String table = entry.getKey();
+            // Ids first, then one image at a time, so only a single data URI is in memory
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "select id from " + table + " where image like 'data:%' order by id", Long.class);
+            int converted = 0;
+            for (Long id : ids) {
+                String image = jdbcTemplate.queryForObject("select image from " + table + " where id = ?", String.class, id);
+                try {
+                    jdbcTemplate.update("update " + table + " set image = ? where id = ?", imageStore.ingest(image), id);
+                    converted++;
+                } catch (IllegalArgumentException | UncheckedIOException e) {
+                    log.warn("Skipped image of {} {}: {}", table, id, e.getMessage());
+                }
+            }
+            if (!ids.isEmpty()) {
+                log.info("Moved {} of {} {} images to the image store", converted, ids.size(), table);
+            }
+            // These writes bypass the JPA listener, so the content version is moved here
+            if (converted > 0) {
+                contentVersions.bump(entry.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.metropolitan.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Uploaded images resized once into every ImageVariant and kept on disk as <root>/<ab>/<id>/<variant>.<ext>.
+// The asset id is the first 128 bits of the original's SHA-256, so the same upload maps to the same
+// files and a variant's bytes never change once written. Nothing is written until
+// images.persistent-storage says the directory survives a redeploy; until then inline images stay in
+// the rows.
+@Slf4j
+@Service
+public class ImageStore {
+
+    private static final Pattern ASSET_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final Format JPEG = new Format(".jpg", "image/jpeg");
+    private static final Format PNG = new Format(".png", "image/png");
+
+    private final Path root;
+    private final boolean enabled;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageStore(
+            @Value("${images.storage-dir:data/images}") String storageDir,
+            @Value("${images.persistent-storage:false}") boolean enabled,
+            @Value("${images.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${images.max-pixels:40000000}") long maxPixels
+    ) throws IOException {
+        this.root = Path.of(storageDir).toAbsolutePath();
+        this.enabled = enabled;
+        if (enabled) {
+            Files.createDirectories(root);
+        }
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+    }
+
+    public record StoredImage(Path file, String contentType, long size) {
+    }
+
+    private record Format(String extension, String contentType) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isAssetId(String value) {
+        return value != null && ASSET_ID.matcher(value).matches();
+    }
+
+    // The original is copied to a temp file while it is hashed, then decoded once for all variants
+    public String store(InputStream content) {
+        if (!enabled) {
+            throw new IllegalStateException("Image storage is disabled until images.persistent-storage is set");
+        }
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Path upload = null;
+        try {
+            upload = Files.createTempFile(root, "upload-", ".tmp");
+            try (InputStream in = new DigestInputStream(content, sha256)) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String id = HexFormat.of().formatHex(sha256.digest(), 0, 16);
+            Path directory = directory(id);
+            if (!Files.isDirectory(directory)) {
+                writeVariants(decode(upload), directory);
+                log.info("Stored image {} ({} bytes)", id, Files.size(upload));
+            }
+            return id;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (upload != null) {
+                deleteQuietly(upload);
+            }
+        }
+    }
+
+    // Admin forms send images inline as data URIs; those become assets, anything else (URLs, asset ids) is
+    // kept. With storage disabled the data URI is kept as well.
+    public String ingest(String image) {
+        if (!enabled || image == null || !image.startsWith("data:")) {
+            return image;
+        }
+        int comma = image.indexOf(',');
+        if (comma < 0 || !image.substring(0, comma).endsWith(";base64")) {
+            throw new IllegalArgumentException("Image data URI must be base64 encoded");
+        }
+        byte[] encoded = image.getBytes(StandardCharsets.ISO_8859_1);
+        return store(Base64.getMimeDecoder().wrap(
+                new ByteArrayInputStream(encoded, comma + 1, encoded.length - comma - 1)));
+    }
+
+    public Optional<StoredImage> find(String id, ImageVariant variant) {
+        if (!isAssetId(id)) {
+            return Optional.empty();
+        }
+        Path directory = directory(id);
+        for (Format format : List.of(JPEG, PNG)) {
+            Path file = directory.resolve(variant.pathName() + format.extension());
+            try {
+                return Optional.of(new StoredImage(file, format.contentType(), Files.size(file)));
+            } catch (IOException e) {
+                // not stored in this format
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path directory(String id) {
+        return root.resolve(id.substring(0, 2)).resolve(id);
+    }
+
+    private BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Checked from the header so an oversized image is rejected before it is decoded
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new IllegalArgumentException("Image dimensions are too large");
+                }
+                return reader.read(0);
+            } catch (IIOException e) {
+                throw new IllegalArgumentException("Image could not be read");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Variants are written to a staging directory and renamed into place, so readers never see a partial set
+    private void writeVariants(BufferedImage original, Path directory) throws IOException {
+        boolean alpha = original.getColorModel().hasAlpha();
+        Format format = alpha ? PNG : JPEG;
+        Path staging = Files.createTempDirectory(root, "variants-");
+        try {
+            for (ImageVariant variant : ImageVariant.values()) {
+                write(resize(original, variant.getMaxWidth(), alpha), staging.resolve(variant.pathName() + format.extension()), format);
+            }
+            Files.createDirectories(directory.getParent());
+            Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // A concurrent upload of the same image got there first
+            if (!Files.isDirectory(directory)) {
+                throw e;
+            }
+        } finally {
+            if (Files.exists(staging)) {
+                try (Stream<Path> files = Files.walk(staging)) {
+                    files.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+                }
+            }
+        }
+    }
+
+    // Halves the image until it is within 2x of the target width before the last bilinear pass;
+    // a single pass over a large reduction drops detail
+    private static BufferedImage resize(BufferedImage source, int maxWidth, boolean alpha) {
+        int targetWidth = Math.min(source.getWidth(), maxWidth);
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = width == targetWidth ? targetHeight : Math.max(height / 2, 1);
+            BufferedImage next = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    private void write(BufferedImage image, Path file, Format format) throws IOException {
+        if (format == PNG) {
+            ImageIO.write(image, "png", file.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+}
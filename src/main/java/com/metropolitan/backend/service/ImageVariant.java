@@ -0,0 +1,34 @@
+package com.metropolitan.backend.service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+// Sizes generated for every uploaded image, by maximum width; smaller originals are never upscaled
+public enum ImageVariant {
+    THUMBNAIL(320),
+    CARD(800),
+    HERO(1920);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String pathName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Optional<ImageVariant> fromPath(String name) {
+        for (ImageVariant variant : values()) {
+            if (variant.pathName().equals(name)) {
+                return Optional.of(variant);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,235 @@
+package com.metropolitan.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only journal of memory-mapped segment files (segment-<n>.log). A record is
+// [int length][int crc32][payload]; a length of 0 marks the end of the written data and -1 the unused
+// tail of a full segment. The checkpoint file holds the position up to which records are in the
+// database: reads always start there, and segments wholly before it are deleted. On open, records
+// after the checkpoint are counted as pending and a torn record at the end is cut off.
+@Slf4j
+final class InquiryJournal implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnAppend;
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+
+    private Position committed;
+    private Position written;
+    private long pendingRecords;
+    private long pendingBytes;
+
+    record Position(long segment, int offset) {
+    }
+
+    record Batch(List<byte[]> records, Position end, long bytes) {
+    }
+
+    private InquiryJournal(Path directory, int segmentSize, boolean syncOnAppend) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    static InquiryJournal open(Path directory, int segmentSize, boolean syncOnAppend) throws IOException {
+        Files.createDirectories(directory);
+        InquiryJournal journal = new InquiryJournal(directory, segmentSize, syncOnAppend);
+        journal.recover();
+        return journal;
+    }
+
+    synchronized void append(byte[] payload) throws IOException {
+        int size = HEADER_SIZE + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Inquiry is too large for the journal");
+        }
+        if (written.offset() + size > segmentSize) {
+            MappedByteBuffer full = segments.get(written.segment());
+            if (written.offset() + 4 <= segmentSize) {
+                full.putInt(written.offset(), END_OF_SEGMENT);
+            }
+            written = new Position(written.segment() + 1, 0);
+            segments.put(written.segment(), map(written.segment()));
+        }
+
+        MappedByteBuffer segment = segments.get(written.segment());
+        int offset = written.offset();
+        segment.put(offset + HEADER_SIZE, payload);
+        segment.putInt(offset + 4, crc(payload));
+        // The length goes in last: until it is there the record reads as the end of the journal
+        segment.putInt(offset, payload.length);
+        if (syncOnAppend) {
+            segment.force(offset, size);
+        }
+        written = new Position(written.segment(), offset + size);
+        pendingRecords++;
+        pendingBytes += payload.length;
+    }
+
+    // Up to maxRecords from the checkpoint on; the same records come back until they are committed
+    synchronized Batch read(int maxRecords) {
+        List<byte[]> records = new ArrayList<>();
+        long bytes = 0;
+        Position position = committed;
+        while (records.size() < maxRecords && !position.equals(written)) {
+            MappedByteBuffer segment = segments.get(position.segment());
+            int length = position.offset() + 4 <= segmentSize ? segment.getInt(position.offset()) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                position = new Position(position.segment() + 1, 0);
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.get(position.offset() + HEADER_SIZE, payload);
+            records.add(payload);
+            bytes += length;
+            position = new Position(position.segment(), position.offset() + HEADER_SIZE + length);
+        }
+        return new Batch(records, position, bytes);
+    }
+
+    synchronized void commit(Batch batch) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer checkpoint = ByteBuffer.allocate(12)
+                    .putLong(batch.end().segment())
+                    .putInt(batch.end().offset())
+                    .flip();
+            channel.write(checkpoint);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        committed = batch.end();
+        pendingRecords -= batch.records().size();
+        pendingBytes -= batch.bytes();
+        while (segments.firstKey() < committed.segment()) {
+            long segment = segments.pollFirstEntry().getKey();
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+    synchronized long pendingRecords() {
+        return pendingRecords;
+    }
+
+    synchronized long pendingBytes() {
+        return pendingBytes;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        segments.values().forEach(MappedByteBuffer::force);
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        committed = readCheckpoint();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith("segment-") || !name.endsWith(".log")) {
+                    continue;
+                }
+                long segment = Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+                if (segment < committed.segment()) {
+                    Files.delete(file);
+                } else {
+                    segments.put(segment, map(segment));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            committed = new Position(committed.segment(), 0);
+            segments.put(committed.segment(), map(committed.segment()));
+        }
+
+        // Walk the records after the checkpoint; the first one that is incomplete or fails its
+        // checksum is where the previous run stopped writing
+        Position position = committed;
+        while (true) {
+            MappedByteBuffer segment = segments.get(position.segment());
+            int length = position.offset() + 4 <= segmentSize ? segment.getInt(position.offset()) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT && segments.containsKey(position.segment() + 1)) {
+                position = new Position(position.segment() + 1, 0);
+                continue;
+            }
+            if (length <= 0 || position.offset() + HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.get(position.offset() + HEADER_SIZE, payload);
+            if (segment.getInt(position.offset() + 4) != crc(payload)) {
+                log.warn("Discarding torn inquiry journal record at segment {} offset {}", position.segment(), position.offset());
+                break;
+            }
+            pendingRecords++;
+            pendingBytes += length;
+            position = new Position(position.segment(), position.offset() + HEADER_SIZE + length);
+        }
+        written = position;
+
+        // Clear whatever follows so a later append cannot run into stale bytes
+        MappedByteBuffer last = segments.get(written.segment());
+        byte[] zeros = new byte[4096];
+        for (int offset = written.offset(); offset < segmentSize; offset += zeros.length) {
+            last.put(offset, zeros, 0, Math.min(zeros.length, segmentSize - offset));
+        }
+        for (Map.Entry<Long, MappedByteBuffer> later : new ArrayList<>(segments.tailMap(written.segment(), false).entrySet())) {
+            segments.remove(later.getKey());
+            Files.deleteIfExists(segmentPath(later.getKey()));
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new Position(checkpoint.getLong(), checkpoint.getInt());
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed; a new file is zero-filled
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("segment-%016d.log", segment));
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,10 @@
+package com.metropolitan.backend.service;
+
+// The write-behind journal holds inquiries.write-behind.max-pending unflushed inquiries and takes no more
+// until the flusher catches up
+public class InquiryQueueFullException extends RuntimeException {
+
+    public InquiryQueueFullException() {
+        super("Inquiry queue is full");
+    }
+}
@@ -1,25 +1,54 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.CursorPageResponse;
+import com.metropolitan.backend.dto.InquiryExportRow;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.Inquiry;
 import com.metropolitan.backend.repository.InquiryRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class InquiryService {
 
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final List<ExportWriter.Column<InquiryExportRow>> EXPORT_COLUMNS = List.of(
+            new ExportWriter.Column<>("id", InquiryExportRow::id),
+            new ExportWriter.Column<>("name", InquiryExportRow::name),
+            new ExportWriter.Column<>("email", InquiryExportRow::email),
+            new ExportWriter.Column<>("phone", InquiryExportRow::phone),
+            new ExportWriter.Column<>("subject", InquiryExportRow::subject),
+            new ExportWriter.Column<>("message", InquiryExportRow::message),
+            new ExportWriter.Column<>("division", InquiryExportRow::division),
+            new ExportWriter.Column<>("createdAt", InquiryExportRow::createdAt));
+
     private final InquiryRepository inquiryRepository;
+    private final InquiryWriteBehind inquiryWriteBehind;
+    private final ExportWriter exportWriter;
 
+    // Queued through the write-behind journal when it is enabled; the returned inquiry then has no id yet
     public Inquiry createInquiry(Inquiry inquiry) {
+        // PostgreSQL text cannot hold NUL; caught here rather than when a queued row fails to insert
+        for (String text : new String[]{inquiry.getName(), inquiry.getEmail(), inquiry.getPhone(),
+                inquiry.getSubject(), inquiry.getMessage(), inquiry.getDivision()}) {
+            if (text != null && text.indexOf('\0') >= 0) {
+                throw new IllegalArgumentException("Inquiry text must not contain NUL characters");
+            }
+        }
+        if (inquiryWriteBehind.isEnabled()) {
+            return inquiryWriteBehind.submit(inquiry);
+        }
         return inquiryRepository.save(inquiry);
     }
 
@@ -29,12 +58,28 @@ public class InquiryService {
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        Page<Inquiry> inquiryPage = inquiryRepository.findWithFilters(fromDate, toDate, pageable);
-        long total = inquiryRepository.countWithFilters(fromDate, toDate);
+        return PageResponse.of(inquiryRepository.findPage(InquiryRepository.withFilters(fromDate, toDate), pageable));
+    }
 
-        return PageResponse.of(inquiryPage.getContent(), total, page, limit);
+    public CursorPageResponse<Inquiry> getInquiriesByCursor(
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String cursor,
+            int limit
+    ) {
+        return KeysetPagination.fetch(inquiryRepository::findFirst, InquiryRepository.withFilters(fromDate, toDate), cursor, limit,
+                Inquiry::getCreatedAt, Inquiry::getId);
+    }
+
+    // Holds a connection and a read-only transaction for as long as the client takes to download
+    @Transactional(readOnly = true)
+    public void exportInquiries(LocalDateTime fromDate, LocalDateTime toDate, ExportWriter.Format format, OutputStream out) throws IOException {
+        try (Stream<InquiryExportRow> rows = inquiryRepository.streamAll(InquiryRepository.withFilters(fromDate, toDate),
+                EXPORT_SORT, exportWriter.getFetchSize(), InquiryExportRow.class)) {
+            exportWriter.write(rows, EXPORT_COLUMNS, format, out);
+        }
     }
 
     public Optional<Inquiry> getInquiry(Long id) {
@@ -0,0 +1,244 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.model.Inquiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Public inquiry submissions are appended to the local InquiryJournal and acknowledged at once; a
+// single background thread moves them into PostgreSQL in batches, one transaction per batch. Each
+// inquiry carries the submission id it was given here, and the insert skips ids already present, so
+// replaying the journal after a crash between the commit and the checkpoint adds nothing twice.
+@Slf4j
+@Service
+public class InquiryWriteBehind {
+
+    private static final String INSERT = "insert into inquiries "
+            + "(submission_id, name, email, phone, subject, message, division, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?) on conflict (submission_id) do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final DataSize segmentSize;
+    private final boolean syncOnAppend;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long maxPending;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile String lastFailure;
+    private volatile LocalDateTime lastFlushAt;
+    private boolean failing;
+
+    private InquiryJournal journal;
+    private ScheduledExecutorService flusher;
+
+    public InquiryWriteBehind(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${inquiries.write-behind.enabled:false}") boolean enabled,
+            @Value("${inquiries.write-behind.journal-dir:}") String directory,
+            @Value("${inquiries.write-behind.segment-size:16MB}") DataSize segmentSize,
+            @Value("${inquiries.write-behind.sync-on-append:false}") boolean syncOnAppend,
+            @Value("${inquiries.write-behind.batch-size:200}") int batchSize,
+            @Value("${inquiries.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${inquiries.write-behind.max-pending:100000}") long maxPending
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = directory.isBlank() ? null : Path.of(directory).toAbsolutePath();
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPending = maxPending;
+    }
+
+    // What is journaled per submission; the database id is only known once the row is written
+    record Entry(
+            UUID submissionId,
+            String name,
+            String email,
+            String phone,
+            String subject,
+            String message,
+            String division,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        // Accepted inquiries exist only in the journal until flushed, so it has to be somewhere that
+        // survives a redeploy; there is no default location
+        if (directory == null) {
+            throw new IllegalStateException("inquiries.write-behind.journal-dir must be set to a persistent directory");
+        }
+        journal = InquiryJournal.open(directory, (int) segmentSize.toBytes(), syncOnAppend);
+        if (journal.pendingRecords() > 0) {
+            log.info("Replaying {} journaled inquiries", journal.pendingRecords());
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inquiry-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, 0, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Writes out whatever is still queued, so a clean shutdown leaves the journal empty
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Inquiry submit(Inquiry inquiry) {
+        if (journal.pendingRecords() >= maxPending) {
+            throw new InquiryQueueFullException();
+        }
+        inquiry.setId(null);
+        inquiry.setCreatedAt(LocalDateTime.now());
+        Entry entry = new Entry(UUID.randomUUID(), inquiry.getName(), inquiry.getEmail(), inquiry.getPhone(),
+                inquiry.getSubject(), inquiry.getMessage(), inquiry.getDivision(), inquiry.getCreatedAt());
+        try {
+            journal.append(objectMapper.writeValueAsBytes(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        accepted.incrementAndGet();
+        return inquiry;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        if (enabled) {
+            stats.put("pending", journal.pendingRecords());
+            stats.put("pendingBytes", journal.pendingBytes());
+            stats.put("segments", journal.segmentCount());
+        }
+        stats.put("accepted", accepted.get());
+        stats.put("flushed", flushed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("lastFlushAt", lastFlushAt);
+        stats.put("lastFailure", lastFailure);
+        return stats;
+    }
+
+    // Drains the journal batch by batch; a failed batch stays in the journal and is retried next run
+    void flush() {
+        try {
+            InquiryJournal.Batch batch;
+            while (!(batch = journal.read(batchSize)).records().isEmpty()) {
+                List<Entry> entries = new ArrayList<>(batch.records().size());
+                for (byte[] record : batch.records()) {
+                    entries.add(objectMapper.readValue(record, Entry.class));
+                }
+                int written = entries.size();
+                try {
+                    insert(entries);
+                } catch (DataIntegrityViolationException e) {
+                    written = insertOneByOne(entries);
+                }
+                journal.commit(batch);
+                flushed.addAndGet(written);
+                lastFlushAt = LocalDateTime.now();
+            }
+            if (failing) {
+                failing = false;
+                log.info("Inquiry flushing recovered");
+            }
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            lastFailure = e.getMessage();
+            // Retried every interval; only the first failure of a run is logged
+            if (!failing) {
+                failing = true;
+                log.warn("Inquiry flush failed, {} still queued: {}", journal.pendingRecords(), e.getMessage());
+            }
+        }
+    }
+
+    private void insert(List<Entry> entries) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), InquiryWriteBehind::bind));
+    }
+
+    // One bad row must not hold back the rest of its batch forever; rows the database rejects are
+    // logged in full and dropped. Submissions are validated first, so this should not happen.
+    private int insertOneByOne(List<Entry> entries) throws IOException {
+        int written = 0;
+        for (Entry entry : entries) {
+            try {
+                insert(List.of(entry));
+                written++;
+            } catch (DataIntegrityViolationException e) {
+                rejected.incrementAndGet();
+                log.error("Dropped journaled inquiry {}: {}",
+                        new String(objectMapper.writeValueAsBytes(entry), StandardCharsets.UTF_8), e.getMostSpecificCause().getMessage());
+            }
+        }
+        return written;
+    }
+
+    private static void bind(PreparedStatement statement, Entry entry) throws SQLException {
+        statement.setObject(1, entry.submissionId());
+        statement.setString(2, entry.name());
+        statement.setString(3, entry.email());
+        statement.setString(4, entry.phone());
+        statement.setString(5, entry.subject());
+        statement.setString(6, entry.message());
+        statement.setString(7, entry.division());
+        statement.setTimestamp(8, Timestamp.valueOf(entry.createdAt()));
+    }
+}
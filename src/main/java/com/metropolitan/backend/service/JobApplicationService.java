@@ -1,50 +1,172 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.dto.CursorPageResponse;
+import com.metropolitan.backend.dto.JobApplicationExportRow;
+import com.metropolitan.backend.dto.JobApplicationSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.JobApplication;
 import com.metropolitan.backend.repository.JobApplicationRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class JobApplicationService {
 
+    private static final String RESUME_CONTENT_TYPE = "application/pdf";
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final List<ExportWriter.Column<JobApplicationExportRow>> EXPORT_COLUMNS = List.of(
+            new ExportWriter.Column<>("id", JobApplicationExportRow::id),
+            new ExportWriter.Column<>("name", JobApplicationExportRow::name),
+            new ExportWriter.Column<>("email", JobApplicationExportRow::email),
+            new ExportWriter.Column<>("position", JobApplicationExportRow::position),
+            new ExportWriter.Column<>("portfolioUrl", JobApplicationExportRow::portfolioUrl),
+            new ExportWriter.Column<>("coverLetter", JobApplicationExportRow::coverLetter),
+            new ExportWriter.Column<>("hasResume", row -> row.resumeBlobId() != null),
+            new ExportWriter.Column<>("resumeUrl", row -> row.resumeBlobId() == null ? row.resumePdf() : null),
+            new ExportWriter.Column<>("createdAt", JobApplicationExportRow::createdAt));
+
     private final JobApplicationRepository jobApplicationRepository;
+    private final BlobStore blobStore;
+    private final ExportWriter exportWriter;
 
+    @Transactional
     public JobApplication createJobApplication(JobApplication jobApplication) {
+        clearServerFields(jobApplication);
+        String resume = jobApplication.getResumePdf();
+        if (resume != null && !resume.isBlank()) {
+            BlobStore.Blob blob = blobStore.store(requirePdf(decodeResume(resume)), RESUME_CONTENT_TYPE);
+            jobApplication.setResumeBlobId(blob.id());
+        }
+        jobApplication.setResumePdf(null);
         return jobApplicationRepository.save(jobApplication);
     }
 
-    public PageResponse<JobApplication> getJobApplicationsWithFilters(
+    public PageResponse<JobApplicationSummary> getJobApplicationsWithFilters(
             LocalDateTime fromDate,
             LocalDateTime toDate,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        Page<JobApplication> jobApplicationPage = jobApplicationRepository.findWithFilters(fromDate, toDate, pageable);
-        long total = jobApplicationRepository.countWithFilters(fromDate, toDate);
+        return PageResponse.of(jobApplicationRepository.findPage(JobApplicationRepository.withFilters(fromDate, toDate), pageable, JobApplicationSummary.class));
+    }
+
+    public CursorPageResponse<JobApplicationSummary> getJobApplicationsByCursor(
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            String cursor,
+            int limit
+    ) {
+        return KeysetPagination.fetch(
+                (specification, sort, rows) -> jobApplicationRepository.findFirst(specification, sort, rows, JobApplicationSummary.class),
+                JobApplicationRepository.withFilters(fromDate, toDate), cursor, limit,
+                JobApplicationSummary::createdAt, JobApplicationSummary::id);
+    }
 
-        return PageResponse.of(jobApplicationPage.getContent(), total, page, limit);
+    // Holds a connection and a read-only transaction for as long as the client takes to download
+    @Transactional(readOnly = true)
+    public void exportJobApplications(LocalDateTime fromDate, LocalDateTime toDate, ExportWriter.Format format, OutputStream out) throws IOException {
+        try (Stream<JobApplicationExportRow> rows = jobApplicationRepository.streamAll(JobApplicationRepository.withFilters(fromDate, toDate),
+                EXPORT_SORT, exportWriter.getFetchSize(), JobApplicationExportRow.class)) {
+            exportWriter.write(rows, EXPORT_COLUMNS, format, out);
+        }
     }
 
     public Optional<JobApplication> getJobApplication(Long id) {
         return jobApplicationRepository.findById(id);
     }
 
+    public Optional<BlobStore.Blob> getResume(Long id) {
+        return jobApplicationRepository.findById(id)
+                .map(JobApplication::getResumeBlobId)
+                .flatMap(blobStore::find);
+    }
+
+    public void writeResume(BlobStore.Blob resume, OutputStream out) {
+        blobStore.writeTo(resume.id(), out);
+    }
+
+    @Transactional
     public void deleteJobApplication(Long id) {
-        if (!jobApplicationRepository.existsById(id)) {
-            throw new RuntimeException("Job Application not found with id: " + id);
+        JobApplication jobApplication = jobApplicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Job Application not found with id: " + id));
+        jobApplicationRepository.delete(jobApplication);
+        jobApplicationRepository.flush();
+        if (jobApplication.getResumeBlobId() != null) {
+            blobStore.delete(jobApplication.getResumeBlobId());
+        }
+    }
+
+    // Multipart path: the resume part is read from Tomcat's temp file straight into blob chunks
+    @Transactional
+    public JobApplication createJobApplication(JobApplication jobApplication, InputStream resume) {
+        clearServerFields(jobApplication);
+        InputStream pdf = requirePdf(resume);
+        BlobStore.Blob blob = blobStore.store(pdf, RESUME_CONTENT_TYPE);
+        jobApplication.setResumeBlobId(blob.id());
+        jobApplication.setResumePdf(null);
+        return jobApplicationRepository.save(jobApplication);
+    }
+
+    // An applicant names neither the row (a set id would make save() overwrite that application),
+    // its timestamp, nor the blob holding a resume
+    private static void clearServerFields(JobApplication jobApplication) {
+        jobApplication.setId(null);
+        jobApplication.setCreatedAt(null);
+        jobApplication.setResumeBlobId(null);
+    }
+
+    private static InputStream requirePdf(InputStream resume) {
+        BufferedInputStream in = new BufferedInputStream(resume);
+        try {
+            in.mark(PDF_MAGIC.length);
+            byte[] header = in.readNBytes(PDF_MAGIC.length);
+            in.reset();
+            if (!Arrays.equals(header, PDF_MAGIC)) {
+                throw new IllegalArgumentException("Resume must be a PDF");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return in;
+    }
+
+    // Resumes arrive base64 encoded, optionally as a data: URL; decoded while the chunks are written
+    private static InputStream decodeResume(String resume) {
+        String encoded = resume.trim();
+        int comma = encoded.indexOf(',');
+        if (encoded.startsWith("data:") && comma > 0) {
+            encoded = encoded.substring(comma + 1);
+        }
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            boolean base64 = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '+' || c == '/' || c == '=' || Character.isWhitespace(c);
+            if (!base64) {
+                throw new IllegalArgumentException("Resume must be a base64 encoded PDF");
+            }
         }
-        jobApplicationRepository.deleteById(id);
+        return Base64.getMimeDecoder().wrap(new ByteArrayInputStream(encoded.getBytes(StandardCharsets.US_ASCII)));
     }
 }
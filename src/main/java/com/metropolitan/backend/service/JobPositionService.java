@@ -1,11 +1,14 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.config.CacheConfig;
+import com.metropolitan.backend.dto.JobPositionSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.JobPosition;
 import com.metropolitan.backend.repository.JobPositionRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -19,41 +22,46 @@ import java.util.Optional;
 public class JobPositionService {
 
     private final JobPositionRepository jobPositionRepository;
+    private final ImageStore imageStore;
 
-    public PageResponse<JobPosition> getJobPositionsWithFilters(
+    public PageResponse<JobPositionSummary> getJobPositionsWithFilters(
             String category,
             LocalDateTime fromDate,
             LocalDateTime toDate,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        Page<JobPosition> jobPositionPage = jobPositionRepository.findWithFilters(category, fromDate, toDate, pageable);
-        long total = jobPositionRepository.countWithFilters(category, fromDate, toDate);
-
-        return PageResponse.of(jobPositionPage.getContent(), total, page, limit);
+        return PageResponse.of(jobPositionRepository.findPage(JobPositionRepository.withFilters(category, fromDate, toDate), pageable, JobPositionSummary.class));
     }
 
+    @Cacheable(cacheNames = CacheConfig.JOB_POSITIONS)
     public List<JobPosition> getActiveJobPositions() {
         return jobPositionRepository.findByStatus("Active");
     }
 
-    public PageResponse<JobPosition> getActiveJobPositionsPaginated(int page, int limit) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<JobPosition> jobPositionPage = jobPositionRepository.findByStatus("Active", pageable);
-        long total = jobPositionRepository.countByStatus("Active");
-        return PageResponse.of(jobPositionPage.getContent(), total, page, limit);
+    @Cacheable(cacheNames = CacheConfig.JOB_POSITIONS)
+    public PageResponse<JobPositionSummary> getActiveJobPositionsPaginated(int page, int limit) {
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return PageResponse.of(jobPositionRepository.findPage(JobPositionRepository.hasStatus("Active"), pageable, JobPositionSummary.class));
     }
 
+    @Cacheable(cacheNames = CacheConfig.JOB_POSITION, unless = "#result == null")
     public Optional<JobPosition> getJobPosition(Long id) {
         return jobPositionRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.JOB_POSITIONS, allEntries = true)
     public JobPosition createJobPosition(JobPosition jobPosition) {
+        jobPosition.setImage(imageStore.ingest(jobPosition.getImage()));
         return jobPositionRepository.save(jobPosition);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOB_POSITION, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.JOB_POSITIONS, allEntries = true)
+    })
     public JobPosition updateJobPosition(Long id, JobPosition jobPositionDetails) {
         JobPosition jobPosition = jobPositionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job Position not found with id: " + id));
@@ -63,11 +71,15 @@ public class JobPositionService {
         jobPosition.setCategory(jobPositionDetails.getCategory());
         jobPosition.setInformation(jobPositionDetails.getInformation());
         jobPosition.setStatus(jobPositionDetails.getStatus());
-        jobPosition.setImage(jobPositionDetails.getImage());
+        jobPosition.setImage(imageStore.ingest(jobPositionDetails.getImage()));
 
         return jobPositionRepository.save(jobPosition);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOB_POSITION, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.JOB_POSITIONS, allEntries = true)
+    })
     public void deleteJobPosition(Long id) {
         if (!jobPositionRepository.existsById(id)) {
             throw new RuntimeException("Job Position not found with id: " + id);
@@ -0,0 +1,88 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.CursorPageResponse;
+import com.metropolitan.backend.dto.PageCursor;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// Cursor paging for append-only lists ordered newest first on (createdAt, id). Each page seeks from
+// the cursor row instead of skipping OFFSET rows, so deep pages cost the same as the first one.
+final class KeysetPagination {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+
+    private KeysetPagination() {
+    }
+
+    // Reads the first rows matching a specification in the given order, as entities or projections
+    interface RowSource<T, R> {
+        List<R> findFirst(Specification<T> specification, Sort sort, int limit);
+    }
+
+    static <T, R> CursorPageResponse<R> fetch(
+            RowSource<T, R> rowSource,
+            Specification<T> filters,
+            String cursor,
+            int limit,
+            Function<R, LocalDateTime> createdAt,
+            Function<R, Long> id
+    ) {
+        limit = PageRequests.limit(limit);
+        PageCursor position = cursor != null && !cursor.isEmpty() ? PageCursor.decode(cursor) : null;
+
+        Specification<T> specification = filters;
+        if (position != null) {
+            specification = specification != null ? specification.and(seek(position)) : seek(position);
+        }
+        boolean backward = position != null && position.isBackward();
+
+        // One extra row tells whether there is another page in the direction we are reading
+        List<R> rows = rowSource.findFirst(specification, backward ? OLDEST_FIRST : NEWEST_FIRST, limit + 1);
+        boolean more = rows.size() > limit;
+        List<R> data = new ArrayList<>(more ? rows.subList(0, limit) : rows);
+        if (backward) {
+            Collections.reverse(data);
+        }
+        if (data.isEmpty()) {
+            return CursorPageResponse.of(data, limit, null, null);
+        }
+
+        R first = data.get(0);
+        R last = data.get(data.size() - 1);
+        boolean hasNext = backward || more;
+        boolean hasPrev = backward ? more : position != null;
+
+        return CursorPageResponse.of(data, limit,
+                hasNext ? PageCursor.after(createdAt.apply(last), id.apply(last)) : null,
+                hasPrev ? PageCursor.before(createdAt.apply(first), id.apply(first)) : null);
+    }
+
+    // (createdAt, id) strictly past the cursor row. The createdAt bound on its own is an index range;
+    // the OR only settles rows sharing the cursor's timestamp.
+    private static <T> Specification<T> seek(PageCursor position) {
+        return (root, query, builder) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            if (position.isBackward()) {
+                return builder.and(
+                        builder.greaterThanOrEqualTo(createdAt, position.getCreatedAt()),
+                        builder.or(
+                                builder.greaterThan(createdAt, position.getCreatedAt()),
+                                builder.greaterThan(id, position.getId())));
+            }
+            return builder.and(
+                    builder.lessThanOrEqualTo(createdAt, position.getCreatedAt()),
+                    builder.or(
+                            builder.lessThan(createdAt, position.getCreatedAt()),
+                            builder.lessThan(id, position.getId())));
+        };
+    }
+}
@@ -0,0 +1,526 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import com.metropolitan.backend.util.TextTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable inverted index over the chatbot knowledge base. Scores match the original
+// linear keyword scan, but only entries reachable from the message's tokens and n-grams
+// are ever touched. Matching works on offsets into the message and per-thread scratch
+// arrays, so a lookup allocates nothing beyond the lower-cased message.
+public final class KnowledgeBaseIndex {
+
+    private static final int EXACT_QUESTION_SCORE = 10;
+    private static final int PARTIAL_QUESTION_SCORE = 5;
+    private static final int EXACT_WORD_SCORE = 2;
+    private static final int PARTIAL_WORD_SCORE = 1;
+    private static final int KEYWORD_SCORE = 3;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final int GRAM = 3;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final long version;
+    private final List<ChatbotKnowledgeBase> entries;
+    private final String[] questions;
+
+    // normalized question -> entries with exactly that question
+    private final Map<String, int[]> questionsByText;
+    // 1..3-gram -> entries whose question contains it, for messages of up to three characters
+    private final Map<String, int[]> questionsByGram;
+    // trigram -> entries whose question contains it
+    private final GramTable questionTrigrams;
+    // leading trigram -> questions starting with it; shorter questions are kept apart
+    private final GramTable questionsByPrefix;
+    private final int[] shortQuestions;
+
+    // question words by id, with the entries and occurrence counts of each
+    private final String[] terms;
+    private final Posting[] termPostings;
+    // trigram -> question words containing it
+    private final GramTable termsByGram;
+    // leading trigram -> question words starting with it; shorter words are kept apart
+    private final GramTable termsByPrefix;
+    private final int[] shortTerms;
+
+    // keywords by id, with the entries and occurrence counts of each
+    private final String[] keywords;
+    private final Posting[] keywordPostings;
+    // leading trigram -> keywords starting with it
+    private final GramTable keywordsByPrefix;
+
+    private final Bm25Retriever retriever;
+    private final long textLength;
+
+    private record Posting(int[] ordinals, int[] counts) {
+    }
+
+    private KnowledgeBaseIndex(List<ChatbotKnowledgeBase> entries, long version) {
+        this.version = version;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.questions = new String[entries.size()];
+
+        Map<String, List<Integer>> byText = new HashMap<>();
+        Map<String, List<Integer>> byGram = new HashMap<>();
+        Map<Long, List<Integer>> byTrigram = new HashMap<>();
+        Map<Long, List<Integer>> byPrefix = new HashMap<>();
+        List<Integer> shortOnes = new ArrayList<>();
+        Map<String, Map<Integer, Integer>> termCounts = new HashMap<>();
+        Map<String, Map<Integer, Integer>> keywordCounts = new HashMap<>();
+        long characters = 0;
+
+        for (int ordinal = 0; ordinal < entries.size(); ordinal++) {
+            ChatbotKnowledgeBase entry = entries.get(ordinal);
+            String question = entry.getNormalizedQuestion();
+            questions[ordinal] = question;
+            characters += question.length() + entry.getAnswer().length()
+                    + (entry.getKeywords() != null ? entry.getKeywords().length() : 0);
+
+            byText.computeIfAbsent(question, k -> new ArrayList<>()).add(ordinal);
+            for (String gram : grams(question)) {
+                byGram.computeIfAbsent(gram, k -> new ArrayList<>()).add(ordinal);
+                if (gram.length() == GRAM) {
+                    byTrigram.computeIfAbsent(trigram(gram, 0), k -> new ArrayList<>()).add(ordinal);
+                }
+            }
+            if (question.length() >= GRAM) {
+                byPrefix.computeIfAbsent(trigram(question, 0), k -> new ArrayList<>()).add(ordinal);
+            } else {
+                shortOnes.add(ordinal);
+            }
+
+            for (String word : entry.getQuestionWords()) {
+                termCounts.computeIfAbsent(word, k -> new LinkedHashMap<>()).merge(ordinal, 1, Integer::sum);
+            }
+            for (String keyword : entry.getKeywordTokens()) {
+                if (keyword.length() >= MIN_WORD_LENGTH) {
+                    keywordCounts.computeIfAbsent(keyword, k -> new LinkedHashMap<>()).merge(ordinal, 1, Integer::sum);
+                }
+            }
+        }
+
+        this.questionsByText = freezeOrdinals(byText);
+        this.questionsByGram = freezeOrdinals(byGram);
+        this.questionTrigrams = new GramTable(byTrigram);
+        this.questionsByPrefix = new GramTable(byPrefix);
+        this.shortQuestions = toArray(shortOnes);
+
+        this.terms = new String[termCounts.size()];
+        this.termPostings = new Posting[termCounts.size()];
+        Map<Long, List<Integer>> termGrams = new HashMap<>();
+        Map<Long, List<Integer>> termPrefixes = new HashMap<>();
+        List<Integer> shortWords = new ArrayList<>();
+        int id = 0;
+        for (Map.Entry<String, Map<Integer, Integer>> term : termCounts.entrySet()) {
+            String text = term.getKey();
+            terms[id] = text;
+            termPostings[id] = posting(term.getValue());
+            if (text.length() < GRAM) {
+                shortWords.add(id);
+            } else {
+                termPrefixes.computeIfAbsent(trigram(text, 0), k -> new ArrayList<>()).add(id);
+            }
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                List<Integer> bucket = termGrams.computeIfAbsent(trigram(text, i), k -> new ArrayList<>());
+                if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != id) {
+                    bucket.add(id);
+                }
+            }
+            id++;
+        }
+        this.termsByGram = new GramTable(termGrams);
+        this.termsByPrefix = new GramTable(termPrefixes);
+        this.shortTerms = toArray(shortWords);
+
+        this.keywords = new String[keywordCounts.size()];
+        this.keywordPostings = new Posting[keywordCounts.size()];
+        Map<Long, List<Integer>> keywordPrefixes = new HashMap<>();
+        id = 0;
+        for (Map.Entry<String, Map<Integer, Integer>> keyword : keywordCounts.entrySet()) {
+            keywords[id] = keyword.getKey();
+            keywordPostings[id] = posting(keyword.getValue());
+            keywordPrefixes.computeIfAbsent(trigram(keyword.getKey(), 0), k -> new ArrayList<>()).add(id);
+            id++;
+        }
+        this.keywordsByPrefix = new GramTable(keywordPrefixes);
+
+        this.retriever = new Bm25Retriever(this.entries);
+        this.textLength = characters;
+    }
+
+    public static KnowledgeBaseIndex build(List<ChatbotKnowledgeBase> entries, long version) {
+        return new KnowledgeBaseIndex(entries, version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<ChatbotKnowledgeBase> getEntries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    // Combined length of all questions, answers and keywords
+    public long getTextLength() {
+        return textLength;
+    }
+
+    public List<ChatbotKnowledgeBase> findRelevant(String userMessage, int limit) {
+        return retriever.findRelevant(userMessage, limit);
+    }
+
+    // Ties go to the entry that comes first in load order, as with the linear scan
+    public ChatbotKnowledgeBase findBestMatch(String userMessage) {
+        if (entries.isEmpty() || userMessage == null) {
+            return null;
+        }
+        String message = userMessage.toLowerCase().trim();
+        if (message.isEmpty()) {
+            return null;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        scratch.prepare(entries.size(), terms.length, keywords.length);
+        try {
+            scoreQuestionPhrases(message, scratch);
+            scoreQuestionWords(message, scratch);
+            scoreKeywords(message, scratch);
+
+            int best = -1;
+            int bestScore = 0;
+            for (int i = 0; i < scratch.touchedCount; i++) {
+                int ordinal = scratch.touched[i];
+                int score = scratch.scores[ordinal];
+                if (score > bestScore || (score == bestScore && ordinal < best)) {
+                    bestScore = score;
+                    best = ordinal;
+                }
+            }
+            return best >= 0 ? entries.get(best) : null;
+        } finally {
+            scratch.clearScores();
+        }
+    }
+
+    private void scoreQuestionPhrases(String message, Scratch scratch) {
+        // Entries already scored for this message carry the mark; exact matches never also count as partial
+        int mark = scratch.nextStamp();
+        int[] marks = scratch.entryMarks;
+
+        int[] exact = questionsByText.get(message);
+        if (exact != null) {
+            for (int ordinal : exact) {
+                marks[ordinal] = mark;
+                scratch.add(ordinal, EXACT_QUESTION_SCORE);
+            }
+        }
+
+        // question contained in the message
+        for (int ordinal : shortQuestions) {
+            if (marks[ordinal] != mark && message.contains(questions[ordinal])) {
+                marks[ordinal] = mark;
+                scratch.add(ordinal, PARTIAL_QUESTION_SCORE);
+            }
+        }
+        for (int i = 0; i + GRAM <= message.length(); i++) {
+            int[] candidates = questionsByPrefix.get(trigram(message, i));
+            if (candidates != null) {
+                for (int ordinal : candidates) {
+                    if (marks[ordinal] != mark && message.startsWith(questions[ordinal], i)) {
+                        marks[ordinal] = mark;
+                        scratch.add(ordinal, PARTIAL_QUESTION_SCORE);
+                    }
+                }
+            }
+        }
+
+        // message contained in the question
+        int[] candidates = message.length() <= GRAM ? questionsByGram.get(message) : rarestGramPosting(message);
+        if (candidates != null) {
+            boolean verify = message.length() > GRAM;
+            for (int ordinal : candidates) {
+                if (marks[ordinal] != mark && (!verify || questions[ordinal].contains(message))) {
+                    marks[ordinal] = mark;
+                    scratch.add(ordinal, PARTIAL_QUESTION_SCORE);
+                }
+            }
+        }
+    }
+
+    private void scoreQuestionWords(String message, Scratch scratch) {
+        int length = message.length();
+        int start = 0;
+        while (start < length) {
+            if (TextTokenizer.isWhitespace(message.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < length && !TextTokenizer.isWhitespace(message.charAt(end))) {
+                end++;
+            }
+            if (end - start >= MIN_WORD_LENGTH) {
+                scoreWord(message, start, end, scratch);
+            }
+            start = end;
+        }
+    }
+
+    // Scores one occurrence of message.substring(start, end) against every question word
+    private void scoreWord(String message, int start, int end, Scratch scratch) {
+        int wordLength = end - start;
+
+        // question words equal to or containing the word share all of its trigrams
+        int[] containing = rarestTermBucket(message, start, end);
+        if (containing != null) {
+            for (int id : containing) {
+                String term = terms[id];
+                if (term.length() == wordLength) {
+                    if (term.regionMatches(0, message, start, wordLength)) {
+                        scratch.addPosting(termPostings[id], EXACT_WORD_SCORE);
+                    }
+                } else if (contains(term, message, start, wordLength)) {
+                    scratch.addPosting(termPostings[id], PARTIAL_WORD_SCORE);
+                }
+            }
+        }
+
+        // question words contained in the word; each counts once however often it occurs
+        int mark = scratch.nextStamp();
+        int[] marks = scratch.termMarks;
+        for (int id : shortTerms) {
+            if (terms[id].length() < wordLength && contains(message, start, end, terms[id])) {
+                scratch.addPosting(termPostings[id], PARTIAL_WORD_SCORE);
+            }
+        }
+        for (int i = start; i + GRAM <= end; i++) {
+            int[] candidates = termsByPrefix.get(trigram(message, i));
+            if (candidates == null) {
+                continue;
+            }
+            for (int id : candidates) {
+                String term = terms[id];
+                if (marks[id] != mark && term.length() < wordLength && i + term.length() <= end
+                        && message.startsWith(term, i)) {
+                    marks[id] = mark;
+                    scratch.addPosting(termPostings[id], PARTIAL_WORD_SCORE);
+                }
+            }
+        }
+    }
+
+    private void scoreKeywords(String message, Scratch scratch) {
+        int mark = scratch.nextStamp();
+        int[] marks = scratch.keywordMarks;
+        for (int i = 0; i + GRAM <= message.length(); i++) {
+            int[] candidates = keywordsByPrefix.get(trigram(message, i));
+            if (candidates == null) {
+                continue;
+            }
+            for (int id : candidates) {
+                if (marks[id] != mark && message.startsWith(keywords[id], i)) {
+                    marks[id] = mark;
+                    scratch.addPosting(keywordPostings[id], KEYWORD_SCORE);
+                }
+            }
+        }
+    }
+
+    private int[] rarestGramPosting(String text) {
+        int[] rarest = null;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            int[] posting = questionTrigrams.get(trigram(text, i));
+            if (posting == null) {
+                return null;
+            }
+            if (rarest == null || posting.length < rarest.length) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private int[] rarestTermBucket(String text, int start, int end) {
+        int[] rarest = null;
+        for (int i = start; i + GRAM <= end; i++) {
+            int[] bucket = termsByGram.get(trigram(text, i));
+            if (bucket == null) {
+                return null;
+            }
+            if (rarest == null || bucket.length < rarest.length) {
+                rarest = bucket;
+            }
+        }
+        return rarest;
+    }
+
+    // Whether text contains region [start, start + length) of source
+    private static boolean contains(String text, String source, int start, int length) {
+        for (int i = 0; i + length <= text.length(); i++) {
+            if (text.regionMatches(i, source, start, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether region [start, end) of text contains part
+    private static boolean contains(String text, int start, int end, String part) {
+        for (int i = start; i + part.length() <= end; i++) {
+            if (text.startsWith(part, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Three chars packed into one long key, so lookups need no substring
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= GRAM; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                grams.add(text.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Map<String, int[]> freezeOrdinals(Map<String, List<Integer>> source) {
+        Map<String, int[]> frozen = new HashMap<>(source.size() * 2);
+        source.forEach((key, ordinals) -> frozen.put(key, toArray(ordinals)));
+        return frozen;
+    }
+
+    private static Posting posting(Map<Integer, Integer> counts) {
+        int[] ordinals = new int[counts.size()];
+        int[] occurrences = new int[counts.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+            ordinals[i] = count.getKey();
+            occurrences[i] = count.getValue();
+            i++;
+        }
+        return new Posting(ordinals, occurrences);
+    }
+
+    // Open-addressing map from a packed trigram to ids, probed without boxing the key
+    private static final class GramTable {
+
+        private final long[] keys;
+        private final int[][] values;
+        private final int mask;
+
+        GramTable(Map<Long, List<Integer>> source) {
+            int capacity = Integer.highestOneBit(Math.max(2, source.size() * 2) - 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new int[capacity][];
+            this.mask = capacity - 1;
+            source.forEach((key, ids) -> {
+                int slot = slot(key);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = toArray(ids);
+            });
+        }
+
+        int[] get(long key) {
+            for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        private int slot(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+
+    // Per-thread working arrays reused across lookups and index versions. Marks are compared
+    // against a fresh stamp instead of being cleared; scores are reset through the touched list.
+    private static final class Scratch {
+
+        int[] scores = new int[0];
+        int[] touched = new int[0];
+        int touchedCount;
+        int[] entryMarks = new int[0];
+        int[] termMarks = new int[0];
+        int[] keywordMarks = new int[0];
+        int stamp;
+
+        void prepare(int entryCount, int termCount, int keywordCount) {
+            if (scores.length < entryCount) {
+                scores = new int[entryCount];
+                touched = new int[entryCount];
+                entryMarks = new int[entryCount];
+            }
+            if (termMarks.length < termCount) {
+                termMarks = new int[termCount];
+            }
+            if (keywordMarks.length < keywordCount) {
+                keywordMarks = new int[keywordCount];
+            }
+        }
+
+        int nextStamp() {
+            if (++stamp == 0) {
+                Arrays.fill(entryMarks, 0);
+                Arrays.fill(termMarks, 0);
+                Arrays.fill(keywordMarks, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+
+        // Every score is positive, so a zero means the entry is touched for the first time
+        void add(int ordinal, int score) {
+            if (scores[ordinal] == 0) {
+                touched[touchedCount++] = ordinal;
+            }
+            scores[ordinal] += score;
+        }
+
+        void addPosting(Posting posting, int weight) {
+            int[] ordinals = posting.ordinals();
+            int[] counts = posting.counts();
+            for (int i = 0; i < ordinals.length; i++) {
+                add(ordinals[i], weight * counts[i]);
+            }
+        }
+
+        void clearScores() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.config.CacheConfig;
+import com.metropolitan.backend.dto.NewsSummary;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.News;
 import com.metropolitan.backend.repository.NewsRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -18,38 +21,41 @@ import java.util.Optional;
 public class NewsService {
 
     private final NewsRepository newsRepository;
+    private final ImageStore imageStore;
 
-    public PageResponse<News> getNews(int page, int limit) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "date"));
+    @Cacheable(cacheNames = CacheConfig.NEWS)
+    public PageResponse<NewsSummary> getNews(int page, int limit) {
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "date"));
 
-        Page<News> newsPage = newsRepository.findAll(pageable);
-        long total = newsRepository.count();
-
-        return PageResponse.of(newsPage.getContent(), total, page, limit);
+        return PageResponse.of(newsRepository.findPage(null, pageable, NewsSummary.class));
     }
 
-    public PageResponse<News> getNewsWithFilters(
+    public PageResponse<NewsSummary> getNewsWithFilters(
             LocalDateTime fromDate,
             LocalDateTime toDate,
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "date"));
-
-        Page<News> newsPage = newsRepository.findWithFilters(fromDate, toDate, pageable);
-        long total = newsRepository.countWithFilters(fromDate, toDate);
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "date"));
 
-        return PageResponse.of(newsPage.getContent(), total, page, limit);
+        return PageResponse.of(newsRepository.findPage(NewsRepository.withFilters(fromDate, toDate), pageable, NewsSummary.class));
     }
 
+    @Cacheable(cacheNames = CacheConfig.NEWS_ITEM, unless = "#result == null")
     public Optional<News> getNewsItem(Long id) {
         return newsRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.NEWS, allEntries = true)
     public News createNews(News news) {
+        news.setImage(imageStore.ingest(news.getImage()));
         return newsRepository.save(news);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NEWS_ITEM, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS, allEntries = true)
+    })
     public News updateNews(Long id, News newsDetails) {
         News news = newsRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("News not found with id: " + id));
@@ -57,12 +63,16 @@ public class NewsService {
         news.setTitle(newsDetails.getTitle());
         news.setContent(newsDetails.getContent());
         news.setSummary(newsDetails.getSummary());
-        news.setImage(newsDetails.getImage());
+        news.setImage(imageStore.ingest(newsDetails.getImage()));
         news.setDate(newsDetails.getDate());
 
         return newsRepository.save(news);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NEWS_ITEM, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.NEWS, allEntries = true)
+    })
     public void deleteNews(Long id) {
         if (!newsRepository.existsById(id)) {
             throw new RuntimeException("News not found with id: " + id);
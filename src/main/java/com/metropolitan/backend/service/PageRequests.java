@@ -0,0 +1,33 @@
+package com.metropolitan.backend.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// page/limit as the list endpoints take them: page counts from 1, limit from 1 up to MAX_LIMIT.
+// Anything outside that is rejected with IllegalArgumentException (a 400), so a client never gets
+// fewer rows than it asked for without being told.
+final class PageRequests {
+
+    static final int MAX_LIMIT = 100;
+
+    private PageRequests() {
+    }
+
+    static Pageable of(int page, int limit, Sort sort) {
+        if (page < 1) {
+            throw new IllegalArgumentException("page must be at least 1");
+        }
+        return PageRequest.of(page - 1, limit(limit), sort);
+    }
+
+    static int limit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        if (limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be at most " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
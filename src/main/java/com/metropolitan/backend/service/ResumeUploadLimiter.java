@@ -0,0 +1,43 @@
+package com.metropolitan.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Caps how many resumes are copied into the blob store at once. Each copy holds a database connection
+// and a chunk buffer, so during a hiring campaign extra uploads wait briefly and are then turned away
+// with 503 instead of piling up on the connection pool.
+@Slf4j
+@Component
+public class ResumeUploadLimiter {
+
+    private final Semaphore permits;
+    private final long waitMs;
+
+    public ResumeUploadLimiter(
+            @Value("${careers.resume.max-concurrent-writes:4}") int maxConcurrentWrites,
+            @Value("${careers.resume.write-wait-ms:2000}") long waitMs
+    ) {
+        this.permits = new Semaphore(maxConcurrentWrites, true);
+        this.waitMs = waitMs;
+    }
+
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Resume upload rejected after waiting {} ms for a write slot", waitMs);
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
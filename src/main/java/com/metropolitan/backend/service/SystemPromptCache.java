@@ -0,0 +1,77 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Holds the rendered Groq system prompt for one knowledge base version. Requests against
+// the same version get the cached string back without touching the database or rebuilding it.
+public final class SystemPromptCache {
+
+    private final Function<List<ChatbotKnowledgeBase>, String> renderer;
+
+    private volatile PromptSnapshot snapshot;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile long lastRebuildNanos;
+    private volatile long totalRebuildNanos;
+
+    private record PromptSnapshot(long version, String prompt) {
+    }
+
+    public SystemPromptCache(Function<List<ChatbotKnowledgeBase>, String> renderer) {
+        this.renderer = renderer;
+    }
+
+    public String get(KnowledgeBaseIndex index) {
+        PromptSnapshot current = snapshot;
+        if (current != null && current.version() == index.getVersion()) {
+            hits.increment();
+            return current.prompt();
+        }
+        return rebuild(index);
+    }
+
+    private synchronized String rebuild(KnowledgeBaseIndex index) {
+        PromptSnapshot current = snapshot;
+        if (current != null && current.version() == index.getVersion()) {
+            hits.increment();
+            return current.prompt();
+        }
+
+        long start = System.nanoTime();
+        String prompt = renderer.apply(index.getEntries());
+        long elapsed = System.nanoTime() - start;
+
+        // Never replace a newer snapshot with one rendered from a stale index
+        if (current == null || current.version() < index.getVersion()) {
+            snapshot = new PromptSnapshot(index.getVersion(), prompt);
+        }
+        misses.increment();
+        lastRebuildNanos = elapsed;
+        totalRebuildNanos += elapsed;
+        return prompt;
+    }
+
+    public Map<String, Object> getStats() {
+        PromptSnapshot current = snapshot;
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current != null ? current.version() : null);
+        stats.put("promptLength", current != null ? current.prompt().length() : 0);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests > 0 ? (double) hitCount / requests : 0.0);
+        stats.put("lastRebuildMicros", lastRebuildNanos / 1_000);
+        stats.put("averageRebuildMicros", missCount > 0 ? totalRebuildNanos / missCount / 1_000 : 0);
+        return stats;
+    }
+}
@@ -1,11 +1,12 @@
 package com.metropolitan.backend.service;
 
+import com.metropolitan.backend.config.CacheConfig;
 import com.metropolitan.backend.dto.PageResponse;
 import com.metropolitan.backend.model.Testimonial;
 import com.metropolitan.backend.repository.TestimonialRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -20,21 +21,13 @@ public class TestimonialService {
 
     private final TestimonialRepository testimonialRepository;
 
+    @Cacheable(cacheNames = CacheConfig.TESTIMONIALS)
     public PageResponse<Testimonial> getTestimonials(String division, int page, int limit) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        Page<Testimonial> testimonialPage;
-        long total;
+        String divisionFilter = division != null && !division.isEmpty() ? division : null;
 
-        if (division != null && !division.isEmpty()) {
-            testimonialPage = testimonialRepository.findByDivision(division, pageable);
-            total = testimonialRepository.countByDivision(division);
-        } else {
-            testimonialPage = testimonialRepository.findAll(pageable);
-            total = testimonialRepository.count();
-        }
-
-        return PageResponse.of(testimonialPage.getContent(), total, page, limit);
+        return PageResponse.of(testimonialRepository.findPage(TestimonialRepository.withFilters(divisionFilter, null, null), pageable));
     }
 
     public PageResponse<Testimonial> getTestimonialsWithFilters(
@@ -44,14 +37,12 @@ public class TestimonialService {
             int page,
             int limit
     ) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        Page<Testimonial> testimonialPage = testimonialRepository.findWithFilters(division, fromDate, toDate, pageable);
-        long total = testimonialRepository.countWithFilters(division, fromDate, toDate);
+        Pageable pageable = PageRequests.of(page, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        return PageResponse.of(testimonialPage.getContent(), total, page, limit);
+        return PageResponse.of(testimonialRepository.findPage(TestimonialRepository.withFilters(division, fromDate, toDate), pageable));
     }
 
+    @Cacheable(cacheNames = CacheConfig.TESTIMONIALS)
     public List<Testimonial> getTestimonialsNonPaginated(String division) {
         if (division != null && !division.isEmpty()) {
             return testimonialRepository.findByDivision(division);
@@ -63,10 +54,12 @@ public class TestimonialService {
         return testimonialRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTIMONIALS, allEntries = true)
     public Testimonial createTestimonial(Testimonial testimonial) {
         return testimonialRepository.save(testimonial);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTIMONIALS, allEntries = true)
     public Testimonial updateTestimonial(Long id, Testimonial testimonialDetails) {
         Testimonial testimonial = testimonialRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Testimonial not found with id: " + id));
@@ -79,6 +72,7 @@ public class TestimonialService {
         return testimonialRepository.save(testimonial);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTIMONIALS, allEntries = true)
     public void deleteTestimonial(Long id) {
         if (!testimonialRepository.existsById(id)) {
             throw new RuntimeException("Testimonial not found with id: " + id);
@@ -0,0 +1,96 @@
+package com.metropolitan.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Principals of tokens that already passed signature, expiry and user checks, so repeat requests
+// with the same token skip parsing and the admin_user lookup. Keyed by the token's SHA-256; an
+// entry lives until the token expires, but never longer than the configured maximum TTL.
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    private record VerifiedToken(UserDetails user, long expiresAtMillis) {
+    }
+
+    public VerifiedTokenCache(
+            @Value("${jwt.token-cache.max-size:1000}") long maxSize,
+            @Value("${jwt.token-cache.max-ttl-seconds:300}") long maxTtlSeconds
+    ) {
+        long maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long untilExpiry = Duration.ofMillis(token.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String token) {
+        VerifiedToken verified = tokens.getIfPresent(hash(token));
+        return verified != null ? verified.user() : null;
+    }
+
+    public void put(String token, UserDetails user, Date expiresAt) {
+        tokens.put(hash(token), new VerifiedToken(user, expiresAt.getTime()));
+    }
+
+    // Drops every cached token of this admin, e.g. after deactivation
+    public void evictUser(String email) {
+        tokens.asMap().values().removeIf(verified -> verified.user().getUsername().equalsIgnoreCase(email));
+    }
+
+    public void invalidateAll() {
+        tokens.invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats cacheStats = tokens.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", tokens.estimatedSize());
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        return stats;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
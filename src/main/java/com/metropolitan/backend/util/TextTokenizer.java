@@ -0,0 +1,57 @@
+package com.metropolitan.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Regex-free versions of the String.split patterns used on chatbot text. Results are identical to
+// split("\\s+") and split("[,\\s]+"), including the leading empty token and dropped trailing ones.
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    // Same characters as the regex class \s
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    public static String[] splitWords(String text) {
+        return split(text, false);
+    }
+
+    public static String[] splitKeywords(String text) {
+        return split(text, true);
+    }
+
+    private static String[] split(String text, boolean commas) {
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            if (isSeparator(text.charAt(i), commas)) {
+                tokens.add(text.substring(start, i));
+                while (i < length && isSeparator(text.charAt(i), commas)) {
+                    i++;
+                }
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        if (tokens.isEmpty()) {
+            return new String[]{text};
+        }
+        tokens.add(text.substring(start));
+
+        int size = tokens.size();
+        while (size > 0 && tokens.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return tokens.subList(0, size).toArray(new String[0]);
+    }
+
+    private static boolean isSeparator(char c, boolean commas) {
+        return isWhitespace(c) || (commas && c == ',');
+    }
+}
@@ -0,0 +1,150 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+// Decodes the base64 resumes stored in job_applications.resume_pdf into blob chunks. Self-contained
+// on purpose (no application classes) so it keeps working as BlobStore changes. Values that are not
+// base64, such as links, stay in resume_pdf, where the admin API shows them as resumeUrl.
+public class V4__MoveResumesToBlobStore extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V4__MoveResumesToBlobStore.class);
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "select id from job_applications where resume_pdf is not null and resume_blob_id is null")) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+
+        int moved = 0;
+        for (Long id : ids) {
+            String resume;
+            try (PreparedStatement select = connection.prepareStatement(
+                    "select resume_pdf from job_applications where id = ?")) {
+                select.setLong(1, id);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                    resume = resultSet.getString(1);
+                }
+            }
+
+            String encoded = stripDataUrl(resume);
+            if (!isBase64(encoded)) {
+                log.warn("Resume of job application {} is not base64, leaving it in resume_pdf", id);
+                continue;
+            }
+            long blobId;
+            try {
+                blobId = store(connection, Base64.getMimeDecoder().wrap(
+                        new ByteArrayInputStream(encoded.getBytes(StandardCharsets.US_ASCII))));
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Resume of job application {} could not be decoded, leaving it in resume_pdf", id);
+                continue;
+            }
+
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update job_applications set resume_blob_id = ?, resume_pdf = null where id = ?")) {
+                update.setLong(1, blobId);
+                update.setLong(2, id);
+                update.executeUpdate();
+            }
+            moved++;
+        }
+        log.info("Moved {} of {} resumes to the blob store", moved, ids.size());
+    }
+
+    private static String stripDataUrl(String value) {
+        String trimmed = value.trim();
+        int comma = trimmed.indexOf(',');
+        return trimmed.startsWith("data:") && comma > 0 ? trimmed.substring(comma + 1) : trimmed;
+    }
+
+    private static boolean isBase64(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean base64 = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '+' || c == '/' || c == '=' || Character.isWhitespace(c);
+            if (!base64) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Decoding happens while the chunks are read, so a value that is not base64 fails part way; the
+    // savepoint drops whatever was written for it
+    private static long store(Connection connection, InputStream decoded)
+            throws SQLException, IOException, NoSuchAlgorithmException {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        InputStream in = new DigestInputStream(decoded, sha256);
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            long blobId;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into blobs (content_type, size, created_at) values ('application/pdf', 0, now()) returning id")) {
+                try (ResultSet resultSet = insert.executeQuery()) {
+                    resultSet.next();
+                    blobId = resultSet.getLong(1);
+                }
+            }
+
+            long size = 0;
+            int seq = 0;
+            try (PreparedStatement chunk = connection.prepareStatement(
+                    "insert into blob_chunks (blob_id, seq, data) values (?, ?, ?)")) {
+                byte[] buffer;
+                while ((buffer = in.readNBytes(CHUNK_SIZE)).length > 0) {
+                    chunk.setLong(1, blobId);
+                    chunk.setInt(2, seq++);
+                    chunk.setBytes(3, buffer);
+                    chunk.executeUpdate();
+                    size += buffer.length;
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("Empty resume");
+            }
+
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update blobs set size = ?, sha256 = ? where id = ?")) {
+                update.setLong(1, size);
+                update.setString(2, HexFormat.of().formatHex(sha256.digest()));
+                update.setLong(3, blobId);
+                update.executeUpdate();
+            }
+            connection.releaseSavepoint(savepoint);
+            return blobId;
+        } catch (IOException | IllegalArgumentException | SQLException e) {
+            connection.rollback(savepoint);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+-- Schema as Hibernate generated it with ddl-auto=update. Databases created that way are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and only pick up later migrations.
+
+create table if not exists admin_user (
+    is_active boolean,
+    created_at timestamp(6),
+    id bigserial not null,
+    last_login timestamp(6),
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+);
+
+create table if not exists case_studies (
+    created_at timestamp(6),
+    id bigserial not null,
+    division varchar(50) not null,
+    client TEXT,
+    completion_date TEXT,
+    description TEXT not null,
+    image TEXT not null,
+    location TEXT,
+    title TEXT not null,
+    primary key (id)
+);
+
+create table if not exists chatbot_knowledge_base (
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    answer TEXT not null,
+    category varchar(255),
+    keywords TEXT,
+    question TEXT not null,
+    primary key (id)
+);
+
+create table if not exists inquiries (
+    created_at timestamp(6),
+    id bigserial not null,
+    division varchar(50),
+    email TEXT not null,
+    message TEXT not null,
+    name TEXT not null,
+    phone TEXT,
+    subject TEXT,
+    primary key (id)
+);
+
+create table if not exists job_applications (
+    created_at timestamp(6),
+    id bigserial not null,
+    cover_letter TEXT,
+    email TEXT not null,
+    name TEXT not null,
+    portfolio_url TEXT,
+    position TEXT not null,
+    resume_pdf TEXT,
+    primary key (id)
+);
+
+create table if not exists job_positions (
+    created_at timestamp(6),
+    id bigserial not null,
+    category varchar(50) not null,
+    status varchar(50) not null,
+    detail TEXT not null,
+    image TEXT,
+    information TEXT,
+    title TEXT not null,
+    primary key (id)
+);
+
+create table if not exists news (
+    date date,
+    created_at timestamp(6),
+    id bigserial not null,
+    content TEXT not null,
+    image TEXT not null,
+    summary TEXT not null,
+    title TEXT not null,
+    primary key (id)
+);
+
+create table if not exists testimonials (
+    created_at timestamp(6),
+    id bigserial not null,
+    division varchar(50) not null,
+    author TEXT not null,
+    content TEXT not null,
+    role TEXT not null,
+    primary key (id)
+);
@@ -0,0 +1,20 @@
+-- Indexes for the list queries: the equality filter first, then created_at for the date range and
+-- the newest-first sort, so a filtered page is read straight off the index
+
+create index if not exists idx_case_studies_division_created_at on case_studies (division, created_at desc);
+create index if not exists idx_case_studies_created_at on case_studies (created_at desc);
+
+create index if not exists idx_testimonials_division_created_at on testimonials (division, created_at desc);
+create index if not exists idx_testimonials_created_at on testimonials (created_at desc);
+
+create index if not exists idx_job_positions_status_created_at on job_positions (status, created_at desc);
+create index if not exists idx_job_positions_category_created_at on job_positions (category, created_at desc);
+create index if not exists idx_job_positions_created_at on job_positions (created_at desc);
+
+-- Public news is sorted by date; the admin date filter is on created_at
+create index if not exists idx_news_date on news (date desc);
+create index if not exists idx_news_created_at on news (created_at desc);
+
+-- Keyset cursors seek on (created_at, id)
+create index if not exists idx_inquiries_created_at_id on inquiries (created_at, id);
+create index if not exists idx_job_applications_created_at_id on job_applications (created_at, id);
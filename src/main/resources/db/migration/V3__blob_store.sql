@@ -0,0 +1,20 @@
+-- Binary uploads (resumes) live outside the rows that reference them, split into fixed-size chunks
+-- so they can be written and streamed back without holding a whole file in memory
+
+create table if not exists blobs (
+    id bigserial not null,
+    content_type varchar(100) not null,
+    size bigint not null,
+    sha256 varchar(64),
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table if not exists blob_chunks (
+    blob_id bigint not null references blobs (id) on delete cascade,
+    seq integer not null,
+    data bytea not null,
+    primary key (blob_id, seq)
+);
+
+alter table job_applications add column if not exists resume_blob_id bigint references blobs (id);
@@ -0,0 +1,6 @@
+-- Inquiries written from the write-behind journal keep the id they were given when accepted, so
+-- replaying the journal after a crash cannot insert a submission twice
+
+alter table inquiries add column if not exists submission_id uuid;
+
+create unique index if not exists idx_inquiries_submission_id on inquiries (submission_id);
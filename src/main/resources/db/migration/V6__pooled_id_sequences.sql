@@ -0,0 +1,13 @@
+-- Entities take their ids from the tables' own sequences in blocks of 50 (Hibernate's pooled
+-- optimizer, allocationSize = 50), which lets inserts go out as JDBC batches. A nextval now hands out
+-- the upper end of a block, so plain SQL inserts that use the column default (the inquiry
+-- write-behind) still never collide with ids the application has reserved.
+
+alter sequence admin_user_id_seq increment by 50;
+alter sequence case_studies_id_seq increment by 50;
+alter sequence chatbot_knowledge_base_id_seq increment by 50;
+alter sequence inquiries_id_seq increment by 50;
+alter sequence job_applications_id_seq increment by 50;
+alter sequence job_positions_id_seq increment by 50;
+alter sequence news_id_seq increment by 50;
+alter sequence testimonials_id_seq increment by 50;
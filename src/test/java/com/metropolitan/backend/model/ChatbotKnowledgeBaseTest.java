@@ -0,0 +1,53 @@
+package com.metropolitan.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The search tokens are cached on the entity; every way of setting question or keywords must
+// leave them matching the current text.
+class ChatbotKnowledgeBaseTest {
+
+    @Test
+    void constructorLeavesTokensToBeDerived() {
+        ChatbotKnowledgeBase entry = new ChatbotKnowledgeBase(1L, "Do you install Solar panels?", "Yes.", "Solar",
+                "solar, PV", null, null);
+
+        assertThat(entry.getNormalizedQuestion()).isEqualTo("do you install solar panels?");
+        assertThat(entry.getQuestionWords()).containsExactly("do", "you", "install", "solar", "panels?");
+        assertThat(entry.getKeywordTokens()).containsExactly("solar", "pv");
+    }
+
+    @Test
+    void settingTheQuestionRefreshesTheQuestionTokens() {
+        ChatbotKnowledgeBase entry = entry("Do you install solar panels?", "solar");
+        assertThat(entry.getQuestionWords()).contains("solar");
+
+        entry.setQuestion("Who services Elevators?");
+
+        assertThat(entry.getNormalizedQuestion()).isEqualTo("who services elevators?");
+        assertThat(entry.getQuestionWords()).containsExactly("who", "services", "elevators?");
+        assertThat(entry.getKeywordTokens()).containsExactly("solar");
+    }
+
+    @Test
+    void settingTheKeywordsRefreshesTheKeywordTokens() {
+        ChatbotKnowledgeBase entry = entry("Do you install solar panels?", "solar, PV");
+        assertThat(entry.getKeywordTokens()).containsExactly("solar", "pv");
+
+        entry.setKeywords("Inverter,,Battery backup");
+        assertThat(entry.getKeywordTokens()).containsExactly("inverter", "battery", "backup");
+
+        entry.setKeywords(null);
+        assertThat(entry.getKeywordTokens()).isEmpty();
+        assertThat(entry.getQuestionWords()).contains("solar");
+    }
+
+    private static ChatbotKnowledgeBase entry(String question, String keywords) {
+        ChatbotKnowledgeBase entry = new ChatbotKnowledgeBase();
+        entry.setQuestion(question);
+        entry.setAnswer("Answer");
+        entry.setKeywords(keywords);
+        return entry;
+    }
+}
@@ -0,0 +1,181 @@
+package com.metropolitan.backend.repository;
+
+import com.metropolitan.backend.dto.CaseStudySummary;
+import com.metropolitan.backend.dto.JobPositionSummary;
+import com.metropolitan.backend.dto.NewsSummary;
+import com.metropolitan.backend.service.AdminUserChangeListener;
+import com.metropolitan.backend.service.ContentChangeListener;
+import com.metropolitan.backend.service.ContentVersions;
+import com.metropolitan.backend.service.VerifiedTokenCache;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the list queries through the repositories against an embedded PostgreSQL migrated by Flyway,
+// then plans the SQL Hibernate sent with the same arguments. Each list must be read off its
+// V2__list_query_indexes index rather than by scanning and sorting the table.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.metropolitan.backend.repository.ListQueryIndexTest$CapturedStatements")
+@Import({ContentChangeListener.class, AdminUserChangeListener.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryIndexTest {
+
+    private static final int ROWS = 20000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FROM = EPOCH.plusDays(400);
+    private static final LocalDateTime TO = FROM.plusDays(7);
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @TestConfiguration
+    static class EmbeddedDatabase {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+
+    // Hibernate creates this from its class name, so the statements are kept in a static list
+    public static class CapturedStatements implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @MockBean
+    private ContentVersions contentVersions;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CaseStudyRepository caseStudyRepository;
+
+    @Autowired
+    private JobPositionRepository jobPositionRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+
+    // Committed outside the test transactions, which roll back
+    @BeforeAll
+    void seed(@Autowired DataSource dataSource) {
+        JdbcTemplate seeder = new JdbcTemplate(dataSource);
+        String createdAt = "timestamp '" + EPOCH + "' + (g % 730) * interval '1 day' + g * interval '1 second'";
+        seeder.execute("insert into case_studies (title, description, image, division, created_at) "
+                + "select 'Case study ' || g, 'Installed and commissioned', '/api/images/' || g, "
+                + "(array['Central AC', 'Generator', 'Solar', 'ELV', 'Elevators', 'Fire'])[1 + g % 6], " + createdAt
+                + " from generate_series(1, " + ROWS + ") g");
+        seeder.execute("insert into job_positions (title, detail, category, status, created_at) "
+                + "select 'Position ' || g, 'Details', (array['Engineering', 'Sales', 'Service'])[1 + g % 3], "
+                + "case when g % 50 = 0 then 'Active' else 'Closed' end, " + createdAt
+                + " from generate_series(1, " + ROWS + ") g");
+        seeder.execute("insert into news (title, summary, content, image, date, created_at) "
+                + "select 'News ' || g, 'Summary', 'Content', '/api/images/' || g, "
+                + "date '2024-01-01' + g % 730, " + createdAt
+                + " from generate_series(1, " + ROWS + ") g");
+        seeder.execute("insert into inquiries (name, email, message, division, created_at) "
+                + "select 'Visitor ' || g, 'visitor' || g || '@example.com', 'Hello', 'Solar', " + createdAt
+                + " from generate_series(1, " + ROWS + ") g");
+        seeder.execute("analyze");
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        CapturedStatements.SQL.clear();
+    }
+
+    @Test
+    void filteredCaseStudiesSeekTheDivisionIndex() {
+        caseStudyRepository.findPage(CaseStudyRepository.withFilters("Solar", FROM, TO), NEWEST_FIRST, CaseStudySummary.class);
+
+        assertThat(planOfLastStatement("Solar", FROM, TO, 0, 20))
+                .contains("Index Scan using idx_case_studies_division_created_at")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void unfilteredCaseStudiesReadTheCreatedAtIndex() {
+        caseStudyRepository.findPage(null, NEWEST_FIRST, CaseStudySummary.class);
+
+        assertThat(planOfLastStatement(0, 20))
+                .contains("Index Scan using idx_case_studies_created_at")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void activeJobPositionsSeekTheStatusIndex() {
+        jobPositionRepository.findPage(JobPositionRepository.hasStatus("Active"), NEWEST_FIRST, JobPositionSummary.class);
+
+        assertThat(planOfLastStatement("Active", 0, 20))
+                .contains("idx_job_positions_status_created_at")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void publicNewsReadsTheDateIndex() {
+        newsRepository.findPage(null, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "date")), NewsSummary.class);
+
+        assertThat(planOfLastStatement(0, 20))
+                .contains("Index Scan using idx_news_date")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void inquiryCursorPagesReadTheKeysetIndex() {
+        inquiryRepository.findFirst(null, Sort.by(Sort.Direction.DESC, "createdAt", "id"), 21);
+
+        assertThat(planOfLastStatement(21))
+                .contains("Index Scan Backward using idx_inquiries_created_at_id")
+                .doesNotContain("Sort");
+    }
+
+    // EXPLAIN of the statement Hibernate sent last, bound to the same values in the same order
+    private String planOfLastStatement(Object... arguments) {
+        List<String> statements = CapturedStatements.SQL;
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, arguments));
+    }
+}
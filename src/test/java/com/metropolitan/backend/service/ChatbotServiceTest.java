@@ -0,0 +1,77 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.dto.ChatResponse;
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import com.metropolitan.backend.repository.ChatbotKnowledgeBaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Streamed answers against a Groq client that never answers, with a circuit breaker that opens on
+// one failure and half-opens at once. Whatever ends the stream, the breaker permit must be settled.
+class ChatbotServiceTest {
+
+    private final GroqClient groqClient = mock(GroqClient.class);
+    private final GroqCircuitBreaker circuitBreaker = new GroqCircuitBreaker();
+    private final CompletableFuture<Void> groqStream = new CompletableFuture<>();
+    private ChatbotService chatbotService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(circuitBreaker, "failureThreshold", 1);
+        ReflectionTestUtils.setField(circuitBreaker, "slowCallMs", 10000L);
+        ReflectionTestUtils.setField(circuitBreaker, "openMs", 0L);
+
+        ChatbotKnowledgeBase entry = new ChatbotKnowledgeBase();
+        entry.setQuestion("Do you install solar panels?");
+        entry.setAnswer("Yes, we design and install solar systems.");
+        ChatbotKnowledgeBaseRepository repository = mock(ChatbotKnowledgeBaseRepository.class);
+        when(repository.findAll()).thenReturn(List.of(entry));
+
+        when(groqClient.isConfigured()).thenReturn(true);
+        when(groqClient.streamCompletion(any(), any())).thenReturn(groqStream);
+
+        chatbotService = new ChatbotService(repository, groqClient, new ChatAnswerCache(0, 60, false, 0.8), circuitBreaker, null);
+
+        // Trip the breaker so the next call is the half-open probe
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(GroqCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void cancellingTheProbeLetsTheNextCallThrough() {
+        CompletableFuture<ChatResponse> answer = chatbotService.streamMessage("solar panels", token -> { });
+        assertThat(circuitBreaker.getState()).isEqualTo(GroqCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).as("only one probe at a time").isFalse();
+
+        answer.cancel(true);
+
+        assertThat(groqStream).isCancelled();
+        assertThat(circuitBreaker.getState()).isEqualTo(GroqCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void aProbeThatTimesOutReopensTheCircuit() {
+        List<String> tokens = new CopyOnWriteArrayList<>();
+        CompletableFuture<ChatResponse> answer = chatbotService.streamMessage("solar panels", tokens::add);
+
+        groqStream.completeExceptionally(new HttpTimeoutException("No data from Groq for 15000 ms"));
+
+        assertThat(answer.join().getMessage()).isEqualTo("Yes, we design and install solar systems.");
+        assertThat(tokens).containsExactly("Yes, we design and install solar systems.");
+        assertThat(circuitBreaker.getState()).isEqualTo(GroqCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).as("open-ms is 0, so the next call probes again").isTrue();
+    }
+}
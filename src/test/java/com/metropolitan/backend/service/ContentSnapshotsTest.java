@@ -0,0 +1,33 @@
+package com.metropolitan.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Snapshots hold pre-compressed bytes, which only go to clients whose Accept-Encoding allows gzip
+class ContentSnapshotsTest {
+
+    @Test
+    void sendsGzipWhenItIsAccepted() {
+        assertThat(ContentSnapshots.acceptsGzip("gzip")).isTrue();
+        assertThat(ContentSnapshots.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ContentSnapshots.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(ContentSnapshots.acceptsGzip("x-gzip")).isTrue();
+        assertThat(ContentSnapshots.acceptsGzip("identity;q=0.5, *;q=0.1")).isTrue();
+        assertThat(ContentSnapshots.acceptsGzip("gzip ; Q=0.001")).isTrue();
+    }
+
+    @Test
+    void sendsPlainJsonWhenGzipIsRefusedOrNotListed() {
+        assertThat(ContentSnapshots.acceptsGzip(null)).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("identity")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("br, deflate")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("gzip;q=0.000, identity")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("*;q=0, identity")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(ContentSnapshots.acceptsGzip("x-gzipped, gzipx")).isFalse();
+    }
+}
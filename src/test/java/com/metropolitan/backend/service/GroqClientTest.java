@@ -0,0 +1,186 @@
+package com.metropolitan.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metropolitan.backend.dto.groq.GroqRequest;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs the server-sent event parser against a local stub of the Groq streaming endpoint. The stub
+// flushes the body in pieces that split lines, and a multi-byte character, across reads.
+class GroqClientTest {
+
+    private static final String FIRST = "data: {\"choices\":[{\"delta\":{\"role\":\"assistant\",\"content\":\"Hel\"}}]}\n\n";
+    private static final String SECOND = "data: {\"choices\":[{\"delta\":{\"content\":\"lo wörld\"}}]}\r\n\r\n";
+    private static final String EMPTY = "data: {\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}\n\n";
+    private static final String COMMENT = ": keep-alive\n\n";
+    private static final String DONE = "data: [DONE]\n\n";
+
+    private HttpServer server;
+    private GroqClient client;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile String requestBody;
+    private final CountDownLatch hungUp = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+
+        client = new GroqClient(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), new ObjectMapper());
+        ReflectionTestUtils.setField(client, "groqApiKey", "test-key");
+        ReflectionTestUtils.setField(client, "groqBaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(client, "requestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "streamIdleTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "streamTimeoutMs", 10000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void streamsDeltasAcrossChunkBoundaries() throws Exception {
+        byte[] body = (FIRST + SECOND + COMMENT + EMPTY + DONE).getBytes(StandardCharsets.UTF_8);
+        int second = FIRST.getBytes(StandardCharsets.UTF_8).length;
+        int umlaut = second + SECOND.substring(0, SECOND.indexOf('ö')).getBytes(StandardCharsets.UTF_8).length + 1;
+        serve(200, split(body, 7, second - 1, second + 12, umlaut, body.length - 4), false);
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        client.streamCompletion(request(), deltas::add).get(5, TimeUnit.SECONDS);
+
+        assertThat(deltas).containsExactly("Hel", "lo wörld");
+        assertThat(requestBody).contains("\"stream\":true");
+    }
+
+    @Test
+    void completesOnDoneWhileTheConnectionStaysOpen() throws Exception {
+        byte[] body = (FIRST + DONE).getBytes(StandardCharsets.UTF_8);
+        serve(200, split(body, FIRST.length() + 6), true);
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        client.streamCompletion(request(), deltas::add).get(5, TimeUnit.SECONDS);
+
+        assertThat(deltas).containsExactly("Hel");
+    }
+
+    @Test
+    void failsOnErrorStatus() {
+        serve(503, List.of("{\"error\":\"overloaded\"}".getBytes(StandardCharsets.UTF_8)), false);
+
+        assertThatThrownBy(() -> client.streamCompletion(request(), delta -> { }).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("HTTP 503");
+    }
+
+    @Test
+    void failsOnMalformedEvent() {
+        serve(200, List.of("data: {not json\n\n".getBytes(StandardCharsets.UTF_8)), false);
+
+        assertThatThrownBy(() -> client.streamCompletion(request(), delta -> { }).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void failsWhenTheStreamGoesIdle() {
+        ReflectionTestUtils.setField(client, "streamIdleTimeoutMs", 300L);
+        serve(200, List.of(FIRST.getBytes(StandardCharsets.UTF_8)), true);
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        assertThatThrownBy(() -> client.streamCompletion(request(), deltas::add).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpTimeoutException.class);
+        assertThat(deltas).containsExactly("Hel");
+    }
+
+    @Test
+    void failsWhenTheStreamRunsPastItsDeadline() throws Exception {
+        ReflectionTestUtils.setField(client, "streamTimeoutMs", 500L);
+        serve(200, Collections.nCopies(100, FIRST.getBytes(StandardCharsets.UTF_8)), false);
+
+        assertThatThrownBy(() -> client.streamCompletion(request(), delta -> { }).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(hungUp.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancellingClosesTheStream() throws Exception {
+        serve(200, Collections.nCopies(100, FIRST.getBytes(StandardCharsets.UTF_8)), false);
+
+        CountDownLatch firstDelta = new CountDownLatch(1);
+        CompletableFuture<Void> stream = client.streamCompletion(request(), delta -> firstDelta.countDown());
+        assertThat(firstDelta.await(5, TimeUnit.SECONDS)).isTrue();
+        stream.cancel(true);
+
+        assertThat(hungUp.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    // Writes each piece with its own flush and a pause, so the client reads them separately
+    private void serve(int status, List<byte[]> pieces, boolean holdOpen) {
+        server.createContext("/chat/completions", exchange -> {
+            requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (byte[] piece : pieces) {
+                    out.write(piece);
+                    out.flush();
+                    Thread.sleep(50);
+                }
+                if (holdOpen) {
+                    release.await(30, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // The client hung up, after [DONE] or part way through
+                hungUp.countDown();
+            }
+        });
+    }
+
+    private static List<byte[]> split(byte[] body, int... offsets) {
+        int[] cuts = Arrays.copyOf(offsets, offsets.length + 1);
+        cuts[offsets.length] = body.length;
+        Arrays.sort(cuts);
+        List<byte[]> pieces = new ArrayList<>();
+        int start = 0;
+        for (int cut : cuts) {
+            pieces.add(Arrays.copyOfRange(body, start, cut));
+            start = cut;
+        }
+        return pieces;
+    }
+
+    private static GroqRequest request() {
+        GroqRequest request = new GroqRequest();
+        request.setModel("test-model");
+        return request;
+    }
+}
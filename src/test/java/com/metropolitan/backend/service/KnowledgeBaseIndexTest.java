@@ -0,0 +1,190 @@
+package com.metropolitan.backend.service;
+
+import com.metropolitan.backend.model.ChatbotKnowledgeBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks KnowledgeBaseIndex.findBestMatch against the linear scan it replaced, copied below as it
+// was. Entries and messages are drawn from a small vocabulary of overlapping words, so partial
+// matches and tied scores come up constantly.
+class KnowledgeBaseIndexTest {
+
+    private static final String[] WORDS = {
+            "solar", "sol", "panel", "panels", "ac", "central", "generator", "gen", "fire", "firewall",
+            "lift", "elevator", "cost", "costs", "how", "what", "is", "the", "a", "?", "!!!", "...", "-",
+            "c++", "énergie", "ÉNERGIE", "Solar", "PANEL"
+    };
+    private static final String[] SEPARATORS = {" ", " ", " ", "  ", "\t", "\n", " \r\n "};
+    private static final String[] PUNCTUATION = {"?", "!", "...", "?!", ",", ";-)", "???", "--- ..."};
+
+    @Test
+    void matchesTheLinearScanOnRandomKnowledgeBases() {
+        for (long seed = 1; seed <= 40; seed++) {
+            Random random = new Random(seed);
+            List<ChatbotKnowledgeBase> entries = new ArrayList<>();
+            int size = 1 + random.nextInt(60);
+            for (int i = 0; i < size; i++) {
+                entries.add(entry(phrase(random, 1 + random.nextInt(5)), keywords(random)));
+            }
+            KnowledgeBaseIndex index = KnowledgeBaseIndex.build(entries, seed);
+
+            for (int i = 0; i < 300; i++) {
+                String message = message(random, entries);
+                if (message.isBlank()) {
+                    continue;
+                }
+                assertThat(index.findBestMatch(message))
+                        .as("seed %d, message \"%s\"", seed, message)
+                        .isSameAs(linearBestMatch(message, entries));
+            }
+        }
+    }
+
+    @Test
+    void tiesGoToTheEarliestEntry() {
+        List<ChatbotKnowledgeBase> entries = List.of(
+                entry("Unrelated question", null),
+                entry("Solar panel cost", "solar"),
+                entry("Solar panel cost", "solar"),
+                entry("solar PANEL cost", "SOLAR"));
+        KnowledgeBaseIndex index = KnowledgeBaseIndex.build(entries, 1);
+
+        for (String message : List.of("solar panel cost", "How much is a solar panel?", "panel", "SOLAR")) {
+            assertThat(index.findBestMatch(message)).as(message)
+                    .isSameAs(linearBestMatch(message, entries))
+                    .isSameAs(entries.get(1));
+        }
+    }
+
+    @Test
+    void punctuationOnlyMessagesMatchTheLinearScan() {
+        List<ChatbotKnowledgeBase> entries = List.of(
+                entry("What is ELV?", "elv, low voltage"),
+                entry("???", null),
+                entry("Contact us...", "contact,,email"),
+                entry("-", "-"));
+        KnowledgeBaseIndex index = KnowledgeBaseIndex.build(entries, 1);
+
+        for (String message : PUNCTUATION) {
+            assertThat(index.findBestMatch(message)).as(message).isSameAs(linearBestMatch(message, entries));
+        }
+    }
+
+    // The linear scan gave every entry the partial-question score for an empty message and so
+    // returned the first entry. ChatbotService answers blank messages before matching, and the
+    // index reports no match for them rather than an arbitrary entry.
+    @Test
+    void blankMessagesMatchNothing() {
+        KnowledgeBaseIndex index = KnowledgeBaseIndex.build(List.of(entry("Solar panel cost", "solar")), 1);
+
+        assertThat(index.findBestMatch("")).isNull();
+        assertThat(index.findBestMatch(" \t\n ")).isNull();
+        assertThat(index.findBestMatch(null)).isNull();
+        assertThat(KnowledgeBaseIndex.build(List.of(), 1).findBestMatch("solar")).isNull();
+    }
+
+    private static String message(Random random, List<ChatbotKnowledgeBase> entries) {
+        String question = entries.get(random.nextInt(entries.size())).getQuestion();
+        return switch (random.nextInt(6)) {
+            case 0 -> question;
+            case 1 -> question.substring(random.nextInt(question.length()));
+            case 2 -> phrase(random, 1) + " " + question.toUpperCase() + " " + phrase(random, 1);
+            case 3 -> PUNCTUATION[random.nextInt(PUNCTUATION.length)];
+            default -> phrase(random, 1 + random.nextInt(6));
+        };
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                phrase.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+            }
+            phrase.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return phrase.toString();
+    }
+
+    private static String keywords(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> null;
+            case 1 -> "";
+            default -> {
+                StringBuilder keywords = new StringBuilder();
+                int count = 1 + random.nextInt(4);
+                for (int i = 0; i < count; i++) {
+                    keywords.append(i == 0 ? "" : random.nextBoolean() ? ", " : ",,")
+                            .append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                yield keywords.toString();
+            }
+        };
+    }
+
+    private static ChatbotKnowledgeBase entry(String question, String keywords) {
+        ChatbotKnowledgeBase entry = new ChatbotKnowledgeBase();
+        entry.setQuestion(question);
+        entry.setAnswer("Answer to " + question);
+        entry.setKeywords(keywords);
+        return entry;
+    }
+
+    // ChatbotService's findBestMatch and calculateScore before KnowledgeBaseIndex, unchanged
+    private static ChatbotKnowledgeBase linearBestMatch(String userMessage, List<ChatbotKnowledgeBase> allEntries) {
+        String normalizedMessage = userMessage.toLowerCase().trim();
+        String[] messageWords = normalizedMessage.split("\\s+");
+
+        ChatbotKnowledgeBase bestMatch = null;
+        int bestScore = 0;
+
+        for (ChatbotKnowledgeBase entry : allEntries) {
+            int score = calculateScore(normalizedMessage, messageWords, entry);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMatch = entry;
+            }
+        }
+
+        return bestMatch;
+    }
+
+    private static int calculateScore(String normalizedMessage, String[] messageWords, ChatbotKnowledgeBase entry) {
+        int score = 0;
+        String normalizedQuestion = entry.getQuestion().toLowerCase();
+
+        if (normalizedQuestion.equals(normalizedMessage)) {
+            score += 10;
+        } else if (normalizedMessage.contains(normalizedQuestion) || normalizedQuestion.contains(normalizedMessage)) {
+            score += 5;
+        }
+
+        String[] questionWords = normalizedQuestion.split("\\s+");
+        for (String word : messageWords) {
+            if (word.length() > 2) {
+                for (String questionWord : questionWords) {
+                    if (questionWord.equals(word)) {
+                        score += 2;
+                    } else if (questionWord.contains(word) || word.contains(questionWord)) {
+                        score += 1;
+                    }
+                }
+            }
+        }
+
+        if (entry.getKeywords() != null && !entry.getKeywords().isEmpty()) {
+            String[] keywords = entry.getKeywords().toLowerCase().split("[,\\s]+");
+            for (String keyword : keywords) {
+                if (!keyword.isEmpty() && keyword.length() > 2 && normalizedMessage.contains(keyword)) {
+                    score += 3;
+                }
+            }
+        }
+
+        return score;
+    }
+}